@@ -19,6 +19,7 @@ dependencies {
     implementation(libs.plugin.kotlin)
     implementation(libs.plugin.checker)
     implementation(libs.plugin.outdated)
+    implementation(libs.plugin.jmh)
 }
 
 //tasks.withType<KotlinCompile> {
@@ -0,0 +1,31 @@
+@file:Suppress("UnstableApiUsage")
+
+import org.gradle.accessors.dm.LibrariesForLibs
+
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+// see buildSrc/build.gradle.kts
+val libs = the<LibrariesForLibs>()
+
+// run with: ./gradlew jmh
+// select benchmarks with: ./gradlew jmh -Pjmh.includes=ParserBenchmark
+// add profilers with: ./gradlew jmh -Pjmh.profilers=gc
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+
+    (project.findProperty("jmh.includes") as String?)?.let {
+        includes.set(listOf(it))
+    }
+
+    (project.findProperty("jmh.profilers") as String?)?.let {
+        profilers.set(it.split(","))
+    }
+
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
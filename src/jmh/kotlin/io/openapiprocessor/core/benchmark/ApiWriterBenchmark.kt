@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.ApiConverter
+import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.writer.java.ApiWriter
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of [ApiWriter.write], i.e. rendering, formatting and writing all source files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ApiWriterBenchmark {
+
+    @Param("100")
+    @JvmField var endpoints: Int = 0
+
+    @Param("100")
+    @JvmField var schemas: Int = 0
+
+    @Param("3")
+    @JvmField var depth: Int = 0
+
+    @Param("true", "false")
+    @JvmField var formatCode: Boolean = false
+
+    private lateinit var api: BenchmarkApi
+    private lateinit var writer: ApiWriter
+    private lateinit var model: Api
+
+    @Setup
+    fun setup() {
+        api = BenchmarkApi(OpenApiGenerator(endpoints, schemas, depth))
+        val options = api.createOptions()
+        options.formatCode = formatCode
+
+        writer = BenchmarkWriters(options).createApiWriter()
+        model = ApiConverter(options, FrameworkBase()).convert(api.parse())
+    }
+
+    @TearDown
+    fun tearDown() {
+        api.delete()
+    }
+
+    @Benchmark
+    fun write() {
+        writer.write(model)
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.ApiOptions
+import io.openapiprocessor.core.converter.OptionsConverter
+import io.openapiprocessor.core.parser.OpenApi
+import io.openapiprocessor.core.parser.Parser
+import io.openapiprocessor.core.parser.ParserType
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * a generated OpenAPI document & mapping in a temporary folder.
+ */
+class BenchmarkApi(generator: OpenApiGenerator, parser: ParserType = ParserType.SWAGGER) {
+    val folder: Path = Files.createTempDirectory("openapi-processor-benchmark")
+    val processorOptions: MutableMap<String, Any> = generator.write(folder)
+
+    init {
+        processorOptions["parser"] = parser.name
+    }
+
+    fun createOptions(): ApiOptions {
+        val options = OptionsConverter().convertOptions(processorOptions)
+        options.validate()
+        return options
+    }
+
+    fun parse(): OpenApi {
+        return Parser().parse(processorOptions)
+    }
+
+    fun delete() {
+        folder.toFile().deleteRecursively()
+    }
+}
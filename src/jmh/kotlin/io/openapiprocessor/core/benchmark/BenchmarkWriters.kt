@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.ApiOptions
+import io.openapiprocessor.core.framework.FrameworkAnnotation
+import io.openapiprocessor.core.framework.FrameworkAnnotations
+import io.openapiprocessor.core.model.Endpoint
+import io.openapiprocessor.core.model.EndpointResponse
+import io.openapiprocessor.core.model.HttpMethod
+import io.openapiprocessor.core.model.parameters.Parameter
+import io.openapiprocessor.core.writer.java.*
+import java.io.Writer
+
+private val MAPPING = FrameworkAnnotation("Mapping", "annotation")
+private val PARAMETER = FrameworkAnnotation("Parameter", "annotation")
+
+/**
+ * creates the java writers like a processor, with simple framework annotations.
+ */
+class BenchmarkWriters(private val options: ApiOptions) {
+    val generatedWriter = GeneratedWriterImpl(
+        GeneratedInfo("openapi-processor-core", "benchmark"), options)
+
+    private val beanValidation = BeanValidationFactory()
+    private val javaDocWriter = JavaDocWriter()
+
+    val interfaceWriter = InterfaceWriter(
+        options,
+        generatedWriter,
+        MethodWriter(
+            options,
+            BenchmarkMappingAnnotationWriter(),
+            BenchmarkParameterAnnotationWriter(),
+            beanValidation,
+            javaDocWriter
+        ),
+        BenchmarkFrameworkAnnotations(),
+        beanValidation,
+        DefaultImportFilter()
+    )
+
+    val dataTypeWriter = DataTypeWriter(
+        options,
+        generatedWriter,
+        beanValidation,
+        javaDocWriter
+    )
+
+    fun createApiWriter(): ApiWriter {
+        return ApiWriter(
+            options,
+            generatedWriter,
+            interfaceWriter,
+            dataTypeWriter,
+            StringEnumWriter(generatedWriter),
+            InterfaceDataTypeWriter(
+                options,
+                generatedWriter,
+                javaDocWriter
+            )
+        )
+    }
+}
+
+private class BenchmarkMappingAnnotationWriter: MappingAnnotationWriter {
+    override fun write(target: Writer, endpoint: Endpoint, endpointResponse: EndpointResponse) {
+        target.write ("""${MAPPING.annotationName}("${endpoint.path}")""")
+    }
+}
+
+private class BenchmarkParameterAnnotationWriter: ParameterAnnotationWriter {
+    override fun write(target: Writer, parameter: Parameter) {
+        target.write (PARAMETER.annotationName)
+    }
+}
+
+private class BenchmarkFrameworkAnnotations: FrameworkAnnotations {
+
+    override fun getAnnotation(httpMethod: HttpMethod): FrameworkAnnotation {
+        return MAPPING
+    }
+
+    override fun getAnnotation(parameter: Parameter): FrameworkAnnotation {
+        return PARAMETER
+    }
+}
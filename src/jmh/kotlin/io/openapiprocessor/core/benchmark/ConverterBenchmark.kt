@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.ApiConverter
+import io.openapiprocessor.core.converter.ApiOptions
+import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.parser.OpenApi
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of [ApiConverter.convert].
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ConverterBenchmark {
+
+    @Param("100", "500")
+    @JvmField var endpoints: Int = 0
+
+    @Param("100", "500")
+    @JvmField var schemas: Int = 0
+
+    @Param("3")
+    @JvmField var depth: Int = 0
+
+    @Param("100")
+    @JvmField var mappings: Int = 0
+
+    private lateinit var api: BenchmarkApi
+    private lateinit var options: ApiOptions
+    private lateinit var openApi: OpenApi
+
+    @Setup
+    fun setup() {
+        api = BenchmarkApi(OpenApiGenerator(endpoints, schemas, depth, mappings))
+        options = api.createOptions()
+        openApi = api.parse()
+    }
+
+    @TearDown
+    fun tearDown() {
+        api.delete()
+    }
+
+    @Benchmark
+    fun convert(): Api {
+        return ApiConverter(options, FrameworkBase()).convert(openApi)
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.model.DataTypeCollector
+import io.openapiprocessor.core.model.DataTypes
+import io.openapiprocessor.core.model.datatypes.*
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of [DataTypeCollector.collect] with a wide, diamond-shaped data type graph: each
+ * object of a layer has a property for each object of the next layer. Without a visited set the
+ * collector walks `width ^ depth` paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class DataTypeCollectorBenchmark {
+
+    @Param("4", "10")
+    @JvmField var width: Int = 0
+
+    @Param("4", "6")
+    @JvmField var depth: Int = 0
+
+    private lateinit var root: DataType
+    private lateinit var types: List<ObjectDataType>
+
+    @Setup
+    fun setup() {
+        val all = mutableListOf<ObjectDataType>()
+
+        var layer = listOf<ObjectDataType>()
+        for (level in depth downTo 0) {
+            val count = if (level == 0) 1 else width
+            val next = layer
+            layer = (0 until count).map { index ->
+                val properties = linkedMapOf<String, PropertyDataType>()
+                next.forEach {
+                    properties[it.getName()] = PropertyDataType(false, false, it)
+                }
+                properties["value"] = PropertyDataType(false, false, StringDataType())
+
+                ObjectDataType(DataTypeName("Node${level}x$index"), "io.openapiprocessor.generated.model", properties)
+            }
+            all.addAll(layer)
+        }
+
+        root = layer.first()
+        types = all
+    }
+
+    @Benchmark
+    fun collect(): DataTypes {
+        val dataTypes = DataTypes()
+        types.forEach { dataTypes.add(it) }
+
+        DataTypeCollector(dataTypes, "io.openapiprocessor.generated").collect(root)
+        return dataTypes
+    }
+}
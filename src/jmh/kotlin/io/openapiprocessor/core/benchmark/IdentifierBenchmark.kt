@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.writer.java.toCamelCase
+import io.openapiprocessor.core.writer.java.toClass
+import io.openapiprocessor.core.writer.java.toEnum
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of the identifier conversion (toCamelCase, toClass & toEnum) over a corpus of names
+ * as they appear in real world OpenAPI documents (properties, parameters, paths, schemas & enum
+ * values). The setup fails if the current conversion does not create the same identifiers as
+ * the previous conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class IdentifierBenchmark {
+
+    private val corpus = listOf(
+        "id", "name", "createdAt", "updated_at", "X-Request-ID", "x-correlation-id",
+        "Content-Type", "If-None-Match", "page[size]", "page[number]", "filter.status",
+        "sort_by", "orderBy", "api_key", "access-token", "userId", "user_id", "UserID",
+        "customerAccountNumber", "PAYMENT_METHOD", "paymentMethodType", "ISO8601Date",
+        "/api/v1/users/{userId}/orders", "/pets/{petId}", "/store/inventory", "/user/login",
+        "GetPetByIdResponse200", "Pet", "Category", "ApiResponse", "OrderStatus",
+        "application/json", "application/vnd.api+json", "multipart/form-data",
+        "available", "pending", "sold", "in-progress", "NOT_FOUND", "internal server error",
+        "1st_place", "2nd-place", "\$type", "@context", "_links", "__typename", "self",
+        "e-mail", "phoneNumber2", "zipCode", "AddressLine1", "geoLat", "geo_lng",
+        "HTTPStatus", "httpStatusCode", "SSLCertificate", "oAuth2Token", "eTag", "IPv6Address",
+        "straße", "prénom", "naïve-value", "Größe", "ÉTAT", "データ", "число-элементов"
+    )
+
+    private val identifiers = corpus.flatMap { name ->
+        listOf(name, "${name}Suffix", "prefix-$name", "${name}_${name.length}")
+    }
+
+    @Setup
+    fun setup() {
+        identifiers.forEach {
+            check(toCamelCase(it) == LegacyIdentifier.toCamelCase(it)) { "toCamelCase($it)" }
+            check(toClass(it) == LegacyIdentifier.toClass(it)) { "toClass($it)" }
+            check(toEnum(it) == LegacyIdentifier.toEnum(it)) { "toEnum($it)" }
+        }
+    }
+
+    @Benchmark
+    fun identifiers(bh: Blackhole) {
+        identifiers.forEach {
+            bh.consume(toCamelCase(it))
+            bh.consume(toClass(it))
+            bh.consume(toEnum(it))
+        }
+    }
+
+    @Benchmark
+    fun legacyIdentifiers(bh: Blackhole) {
+        identifiers.forEach {
+            bh.consume(LegacyIdentifier.toCamelCase(it))
+            bh.consume(LegacyIdentifier.toClass(it))
+            bh.consume(LegacyIdentifier.toEnum(it))
+        }
+    }
+}
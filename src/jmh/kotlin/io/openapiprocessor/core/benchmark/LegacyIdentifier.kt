@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.support.capitalizeFirstChar
+import java.lang.Character.isJavaIdentifierPart
+import java.lang.Character.isJavaIdentifierStart
+import java.util.*
+
+/**
+ * the previous (word list based) identifier conversion, used as baseline and to check that the
+ * current conversion creates identical results.
+ */
+object LegacyIdentifier {
+
+    fun toCamelCase(src: String): String {
+        return joinCamelCase(splitAtWordBreaks(src))
+    }
+
+    fun toClass(src: String): String {
+        return toCamelCase(src).capitalizeFirstChar()
+    }
+
+    fun toEnum(src: String): String {
+        return joinEnum(splitAtWordBreaks(src))
+    }
+
+    private fun joinCamelCase(words: List<String>): String {
+        val sb = StringBuilder()
+
+        words.forEachIndexed { idx, p ->
+            if (idx == 0) {
+                sb.append(p.lowercase())
+            } else {
+                sb.append(p.lowercase().capitalizeFirstChar())
+            }
+        }
+
+        if (sb.isEmpty()) {
+            return "invalid"
+        }
+
+        return sb.toString()
+    }
+
+    private fun joinEnum(words: List<String>): String {
+        val result = words.joinToString("_") { it.uppercase(Locale.getDefault()) }
+
+        if (result.isEmpty()) {
+            return "INVALID"
+        }
+
+        return result
+    }
+
+    private fun splitAtWordBreaks(src: String): List<String> {
+        val words = ArrayList<String>()
+        val current = StringBuilder()
+
+        val trimmed = src.trimStart { !isValidStart(it) }
+        trimmed.forEachIndexed { idx, c ->
+
+            if (idx == 0 || !trimmed.isWordBreak(idx)) {
+                current.append(c)
+                return@forEachIndexed
+            }
+
+            if (current.isNotEmpty()) {
+                words.add(current.toString())
+                current.clear()
+            }
+
+            if (isValid(c)) {
+                current.append(c)
+            }
+        }
+
+        if (current.isNotEmpty()) {
+            words.add(current.toString())
+        }
+
+        return words
+    }
+
+    private fun String.isWordBreak(idx: Int): Boolean {
+        val c = this[idx]
+        return c == ' ' || c == '-' || c == '_' || !isJavaIdentifierPart(c)
+            || (this[idx - 1].isLowerCase() && c.isUpperCase())
+    }
+
+    private fun isValid(c: Char): Boolean {
+        return isJavaIdentifierPart(c) && c != '_'
+    }
+
+    private fun isValidStart(c: Char): Boolean {
+        return isJavaIdentifierStart(c) && c != '_'
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import com.google.googlejavaformat.java.Formatter
+import com.google.googlejavaformat.java.JavaFormatterOptions
+import io.openapiprocessor.core.converter.ApiOptions
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.writer.java.DataTypeWriter
+import io.openapiprocessor.core.writer.java.GeneratedWriter
+import io.openapiprocessor.core.writer.java.PathWriter
+import java.io.BufferedWriter
+import java.io.StringWriter
+import java.io.Writer
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * the previous (String based) source writing of the ApiWriter, used as allocation baseline. It
+ * renders each source into a new StringWriter, formats the String, corrects the final line feed
+ * with a copy and writes it with a BufferedWriter. Like the ApiWriter it writes the `Generated`
+ * support file and the model classes.
+ */
+class LegacySourceWriter(
+    private val options: ApiOptions,
+    private val generatedWriter: GeneratedWriter,
+    private val dataTypeWriter: DataTypeWriter
+) {
+    private val formatter: Formatter? = if (options.formatCode) {
+        Formatter(
+            JavaFormatterOptions
+                .builder()
+                .style(JavaFormatterOptions.Style.AOSP)
+                .build())
+    } else {
+        null
+    }
+
+    fun write(api: Api, targetDir: Path) {
+        val pkg = targetDir.resolve(options.packageName.replace(".", "/"))
+        val supportFolder = Files.createDirectories(pkg.resolve("support"))
+        val modelFolder = Files.createDirectories(pkg.resolve("model"))
+
+        writeSource(supportFolder.resolve("Generated.java")) { writer ->
+            generatedWriter.writeSource(writer)
+        }
+
+        api.forEachModelDataType {
+            writeSource(modelFolder.resolve("${it.getTypeName()}.java")) { writer ->
+                dataTypeWriter.write(writer, it)
+            }
+        }
+    }
+
+    private fun writeSource(target: Path, render: (writer: Writer) -> Unit) {
+        val writer = StringWriter()
+        render(writer)
+        val raw = writer.toString()
+
+        val formatted = format(raw)
+
+        val file = BufferedWriter(PathWriter(target))
+        file.write(formatted)
+        file.close()
+    }
+
+    private fun format(raw: String): String {
+        if (formatter == null)
+            return raw
+
+        return correctLineFeed(formatter.formatSource(raw))
+    }
+
+    // put line feed before last closing }
+    private fun correctLineFeed(formatted: String): String {
+        val index = formatted.lastIndexOf("}")
+
+        return StringBuilder()
+            .append(formatted.substring(0, index))
+            .append("\n}\n")
+            .toString()
+    }
+}
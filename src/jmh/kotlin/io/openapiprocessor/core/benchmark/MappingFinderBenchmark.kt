@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.SchemaInfo
+import io.openapiprocessor.core.converter.mapping.MappingFinder
+import io.openapiprocessor.core.model.HttpMethod
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of the [MappingFinder] lookups the converter runs for each schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class MappingFinderBenchmark {
+
+    @Param("100")
+    @JvmField var endpoints: Int = 0
+
+    @Param("10", "100", "1000")
+    @JvmField var mappings: Int = 0
+
+    private lateinit var api: BenchmarkApi
+    private lateinit var finder: MappingFinder
+    private lateinit var infos: List<SchemaInfo>
+
+    @Setup
+    fun setup() {
+        api = BenchmarkApi(OpenApiGenerator(endpoints, endpoints, 1, mappings))
+        finder = MappingFinder(api.createOptions().mappingIndex)
+
+        val openApi = api.parse()
+        val resolver = openApi.getRefResolver()
+
+        infos = openApi.getPaths().flatMap { (path, ep) ->
+            ep.getOperations()
+                .filter { it.getMethod() == HttpMethod.GET }
+                .flatMap { op ->
+                    val schema = op.getResponses()["200"]!!.getContent()["application/json"]!!.getSchema()
+                    val info = SchemaInfo(
+                        SchemaInfo.Endpoint(path, op.getMethod()),
+                        "Response", "application/json", schema, resolver)
+
+                    val resolved = info.buildForRef()
+                    val properties = mutableListOf(info, resolved)
+                    resolved.eachProperty { _, property -> properties.add(property) }
+                    properties
+                }
+        }
+    }
+
+    @TearDown
+    fun tearDown() {
+        api.delete()
+    }
+
+    @Benchmark
+    fun find(blackhole: Blackhole) {
+        infos.forEach {
+            blackhole.consume(finder.findEndpointTypeMapping(it))
+            blackhole.consume(finder.findIoTypeMapping(it))
+            blackhole.consume(finder.findTypeMapping(it))
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * generates a synthetic OpenAPI document and a matching mapping.yaml of configurable size.
+ *
+ * - each endpoint has a GET with path & query parameters and a POST with a request body. Both
+ *   use one of the schemas.
+ * - each schema is an object with simple properties, an enum, an array and an inline object of
+ *   [depth] levels. The innermost inline object references the next schema.
+ * - the mapping has [mappings] global type mappings that do not match any schema and an
+ *   endpoint type mapping for every 10th endpoint.
+ */
+class OpenApiGenerator(
+    val endpoints: Int = 100,
+    val schemas: Int = 100,
+    val depth: Int = 3,
+    val mappings: Int = 100
+) {
+
+    /**
+     * create the OpenAPI document.
+     *
+     * @return the OpenAPI yaml
+     */
+    fun createApi(): String {
+        val yaml = StringBuilder()
+        yaml.append("""
+            |openapi: 3.0.3
+            |info:
+            |  title: synthetic API
+            |  version: 1.0.0
+            |
+            |paths:
+            |""".trimMargin())
+
+        for (e in 0 until endpoints) {
+            appendEndpoint(yaml, e)
+        }
+
+        yaml.append("""
+            |
+            |components:
+            |  schemas:
+            |""".trimMargin())
+
+        for (s in 0 until schemas) {
+            appendSchema(yaml, s)
+        }
+
+        return yaml.toString()
+    }
+
+    /**
+     * create the mapping.yaml.
+     *
+     * @return the mapping yaml
+     */
+    fun createMapping(): String {
+        val yaml = StringBuilder()
+        yaml.append("""
+            |openapi-processor-mapping: v2.1
+            |
+            |options:
+            |  package-name: io.openapiprocessor.generated
+            |
+            |map:
+            |  types:
+            |    - type: array => java.util.List
+            |""".trimMargin())
+
+        for (m in 0 until mappings) {
+            yaml.append("    - type: Unknown$m => io.openapiprocessor.mapped.Unknown$m\n")
+        }
+
+        yaml.append("\n  paths:\n")
+        for (e in 0 until endpoints step 10) {
+            yaml.append("""
+                |    /resource$e/{id}:
+                |      types:
+                |        - type: ${getSchemaName(e)} => java.util.Map
+                |""".trimMargin())
+        }
+
+        return yaml.toString()
+    }
+
+    /**
+     * write the OpenAPI document and the mapping.yaml to the given folder.
+     *
+     * @param folder target folder
+     * @return the processor options to process the written files
+     */
+    fun write(folder: Path): MutableMap<String, Any> {
+        Files.createDirectories(folder)
+
+        val api = folder.resolve("openapi.yaml")
+        Files.write(api, createApi().toByteArray())
+
+        val mapping = folder.resolve("mapping.yaml")
+        Files.write(mapping, createMapping().toByteArray())
+
+        return mutableMapOf(
+            "apiPath" to api.toString(),
+            "mapping" to mapping.toString(),
+            "targetDir" to folder.resolve("generated").toString()
+        )
+    }
+
+    private fun appendEndpoint(yaml: StringBuilder, endpoint: Int) {
+        val schema = getSchemaName(endpoint)
+
+        yaml.append("""
+            |  /resource$endpoint/{id}:
+            |    get:
+            |      tags:
+            |        - tag${endpoint % 10}
+            |      parameters:
+            |        - name: id
+            |          in: path
+            |          required: true
+            |          schema:
+            |            type: string
+            |        - name: limit
+            |          in: query
+            |          schema:
+            |            type: integer
+            |            format: int32
+            |            minimum: 1
+            |            maximum: 100
+            |      responses:
+            |        '200':
+            |          description: the $schema
+            |          content:
+            |            application/json:
+            |              schema:
+            |                ${'$'}ref: '#/components/schemas/$schema'
+            |    post:
+            |      tags:
+            |        - tag${endpoint % 10}
+            |      parameters:
+            |        - name: id
+            |          in: path
+            |          required: true
+            |          schema:
+            |            type: string
+            |      requestBody:
+            |        content:
+            |          application/json:
+            |            schema:
+            |              ${'$'}ref: '#/components/schemas/$schema'
+            |      responses:
+            |        '204':
+            |          description: empty
+            |""".trimMargin())
+        yaml.append("\n")
+    }
+
+    private fun appendSchema(yaml: StringBuilder, schema: Int) {
+        val indent = "    "
+        yaml.append("$indent${getSchemaName(schema)}:\n")
+        appendObject(yaml, "$indent  ", schema, depth)
+    }
+
+    private fun appendObject(yaml: StringBuilder, indent: String, schema: Int, level: Int) {
+        yaml.append("""
+            |${indent}description: level $level of ${getSchemaName(schema)}
+            |${indent}type: object
+            |${indent}required:
+            |${indent}  - id
+            |${indent}properties:
+            |${indent}  id:
+            |${indent}    type: string
+            |${indent}    maxLength: 40
+            |${indent}  count:
+            |${indent}    type: integer
+            |${indent}    format: int64
+            |${indent}  price:
+            |${indent}    type: number
+            |${indent}    format: double
+            |${indent}  created:
+            |${indent}    type: string
+            |${indent}    format: date-time
+            |${indent}  state:
+            |${indent}    type: string
+            |${indent}    enum:
+            |${indent}      - active
+            |${indent}      - inactive
+            |${indent}  names:
+            |${indent}    type: array
+            |${indent}    items:
+            |${indent}      type: string
+            |""".trimMargin())
+        yaml.append("\n")
+
+        if (level > 0) {
+            yaml.append("${indent}  nested$level:\n")
+            appendObject(yaml, "$indent    ", schema, level - 1)
+        } else {
+            yaml.append("${indent}  next:\n")
+            yaml.append("${indent}    ${'$'}ref: '#/components/schemas/${getSchemaName(schema + 1)}'\n")
+        }
+    }
+
+    private fun getSchemaName(index: Int): String {
+        return "Schema${index % schemas}"
+    }
+}
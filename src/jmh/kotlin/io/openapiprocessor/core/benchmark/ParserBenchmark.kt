@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.parser.OpenApi
+import io.openapiprocessor.core.parser.ParserType
+import io.openapiprocessor.core.parser.snapshot.SnapshotParser
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of [io.openapiprocessor.core.parser.Parser.parse] for each parser type, without and
+ * with (an up-to-date) parser snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ParserBenchmark {
+
+    @Param("SWAGGER", "OPENAPI4J", "INTERNAL")
+    @JvmField var parser: String = ""
+
+    @Param("false", "true")
+    @JvmField var snapshot: Boolean = false
+
+    @Param("100")
+    @JvmField var endpoints: Int = 0
+
+    @Param("100")
+    @JvmField var schemas: Int = 0
+
+    @Param("3")
+    @JvmField var depth: Int = 0
+
+    private lateinit var api: BenchmarkApi
+    private var snapshotParser: SnapshotParser? = null
+
+    @Setup
+    fun setup() {
+        api = BenchmarkApi(OpenApiGenerator(endpoints, schemas, depth), ParserType.valueOf(parser))
+
+        if (snapshot) {
+            snapshotParser = SnapshotParser(api.folder.resolve("snapshots"))
+            snapshotParser!!.parse(api.processorOptions)
+        }
+    }
+
+    @TearDown
+    fun tearDown() {
+        api.delete()
+    }
+
+    @Benchmark
+    fun parse(): OpenApi {
+        return snapshotParser?.parse(api.processorOptions) ?: api.parse()
+    }
+}
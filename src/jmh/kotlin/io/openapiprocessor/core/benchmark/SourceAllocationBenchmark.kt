@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.ApiOptions
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.model.DataTypes
+import io.openapiprocessor.core.model.Documentation
+import io.openapiprocessor.core.model.datatypes.*
+import io.openapiprocessor.core.writer.java.ApiWriter
+import org.openjdk.jmh.annotations.*
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.TimeUnit
+
+/**
+ * allocation benchmark of [ApiWriter.write] with a single large model class. Each operation
+ * renders, formats and writes one model class (and the small `Generated` support file).
+ * [writeLegacy] writes the same files with the previous String based writing (see
+ * [LegacySourceWriter]) as baseline.
+ *
+ * run it with the gc profiler to compare the allocated bytes per operation (`gc.alloc.rate.norm`)
+ * of both variants:
+ *
+ * ```
+ * ./gradlew jmh -Pjmh.includes=SourceAllocationBenchmark -Pjmh.profilers=gc
+ * ```
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class SourceAllocationBenchmark {
+
+    @Param("100", "2000")
+    @JvmField var properties: Int = 0
+
+    @Param("true", "false")
+    @JvmField var formatCode: Boolean = false
+
+    private lateinit var folder: Path
+    private lateinit var writer: ApiWriter
+    private lateinit var legacyWriter: LegacySourceWriter
+    private lateinit var model: Api
+
+    @Setup
+    fun setup() {
+        folder = Files.createTempDirectory("openapi-processor-benchmark")
+
+        val options = ApiOptions()
+        options.targetDir = folder.toString()
+        options.formatCode = formatCode
+        options.javadoc = true
+
+        val dataTypes = DataTypes()
+        dataTypes.add("Aggregate", createDataType(options.packageName))
+        dataTypes.addRef("Aggregate")
+
+        model = Api(dataTypes = dataTypes)
+        val writers = BenchmarkWriters(options)
+        writer = writers.createApiWriter()
+        legacyWriter = LegacySourceWriter(options, writers.generatedWriter, writers.dataTypeWriter)
+    }
+
+    @TearDown
+    fun tearDown() {
+        folder.toFile().deleteRecursively()
+    }
+
+    @Benchmark
+    fun write() {
+        writer.write(model)
+    }
+
+    @Benchmark
+    fun writeLegacy() {
+        legacyWriter.write(model, folder)
+    }
+
+    private fun createDataType(packageName: String): ObjectDataType {
+        val props = linkedMapOf<String, PropertyDataType>()
+        for (i in 0 until properties) {
+            props["property$i"] = PropertyDataType(false, false,
+                StringDataType(documentation = Documentation(description = "the property $i")))
+        }
+
+        return ObjectDataType(
+            DataTypeName("Aggregate"),
+            "$packageName.model",
+            props,
+            documentation = Documentation(description = "an aggregate with $properties properties"))
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.benchmark
+
+import io.openapiprocessor.core.converter.ApiConverter
+import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.model.Api
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.io.StringWriter
+import java.util.concurrent.TimeUnit
+
+/**
+ * benchmark of the [io.openapiprocessor.core.writer.java.DataTypeWriter] and
+ * [io.openapiprocessor.core.writer.java.InterfaceWriter] rendering, without formatting and
+ * file i/o.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class WriterBenchmark {
+
+    @Param("100")
+    @JvmField var endpoints: Int = 0
+
+    @Param("100")
+    @JvmField var schemas: Int = 0
+
+    @Param("3")
+    @JvmField var depth: Int = 0
+
+    private lateinit var api: BenchmarkApi
+    private lateinit var writers: BenchmarkWriters
+    private lateinit var model: Api
+
+    @Setup
+    fun setup() {
+        api = BenchmarkApi(OpenApiGenerator(endpoints, schemas, depth))
+        val options = api.createOptions()
+        writers = BenchmarkWriters(options)
+        model = ApiConverter(options, FrameworkBase()).convert(api.parse())
+    }
+
+    @TearDown
+    fun tearDown() {
+        api.delete()
+    }
+
+    @Benchmark
+    fun writeDataTypes(blackhole: Blackhole) {
+        model.forEachModelDataType {
+            val target = StringWriter()
+            writers.dataTypeWriter.write(target, it)
+            blackhole.consume(target.toString())
+        }
+    }
+
+    @Benchmark
+    fun writeInterfaces(blackhole: Blackhole) {
+        model.forEachInterface {
+            val target = StringWriter()
+            writers.interfaceWriter.write(target, it)
+            blackhole.consume(target.toString())
+        }
+    }
+}
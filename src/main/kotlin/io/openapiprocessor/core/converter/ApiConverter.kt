@@ -11,6 +11,8 @@ import io.openapiprocessor.core.converter.wrapper.MultiDataTypeWrapper
 import io.openapiprocessor.core.converter.wrapper.ResultDataTypeWrapper
 import io.openapiprocessor.core.converter.wrapper.SingleDataTypeWrapper
 import io.openapiprocessor.core.framework.Framework
+import io.openapiprocessor.core.metrics.MetricsCollector
+import io.openapiprocessor.core.metrics.jfr.Jfr
 import io.openapiprocessor.core.model.*
 import io.openapiprocessor.core.model.RequestBody as ModelRequestBody
 import io.openapiprocessor.core.model.Response as ModelResponse
@@ -19,9 +21,16 @@ import io.openapiprocessor.core.model.datatypes.*
 import io.openapiprocessor.core.parser.*
 import io.openapiprocessor.core.parser.RequestBody
 import io.openapiprocessor.core.parser.Response
+import io.openapiprocessor.core.parser.snapshot.SnapshotBuilder
+import io.openapiprocessor.core.parser.snapshot.OpenApi as SnapshotOpenApi
 import io.openapiprocessor.core.writer.java.toClass
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicBoolean
 
 const val MULTIPART = "multipart/"
 const val INTERFACE_DEFAULT_NAME = ""
@@ -36,9 +45,9 @@ class  ApiConverter(
 ) {
     val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
 
-    private val mappingFinder = MappingFinder(options.typeMappings)
+    private val mappingFinder = MappingFinder(options.mappingIndex)
     private val dataTypeWrapper = ResultDataTypeWrapper(options, mappingFinder)
-    private val dataTypeConverter = DataTypeConverter(options, mappingFinder)
+    private val dataTypeConverters = ThreadLocal.withInitial { DataTypeConverter(options, mappingFinder) }
     private val singleDataTypeWrapper = SingleDataTypeWrapper(options, mappingFinder)
     private val multiDataTypeWrapper = MultiDataTypeWrapper(options, mappingFinder)
 
@@ -49,30 +58,193 @@ class  ApiConverter(
      * @return source generation model
      */
     fun convert(api: OpenApi): Api {
-        val target = Api()
-        createInterfaces(api, target)
-        return target
+        return options.metricsCollector.measure(MetricsCollector.CONVERT) {
+            val target = Api()
+            createInterfaces(lower(api), target)
+            logStatistics(api.getRefResolver())
+            target
+        }
+    }
+
+    /**
+     * log the statistics of the parser $ref resolver. It is used by lowering the parser model and,
+     * if the parser model can't be lowered, by the conversion.
+     */
+    private fun logStatistics(resolver: RefResolver) {
+        if (resolver is CachingRefResolver) {
+            resolver.logStatistics()
+        }
+    }
+
+    /**
+     * lowers the parsed OpenAPI model to the compact snapshot model before the conversion. The
+     * conversion accesses the same schemas many times and the parser models allocate new wrapper
+     * objects on each access.
+     */
+    private fun lower(api: OpenApi): OpenApi {
+        if (api is SnapshotOpenApi)
+            return api
+
+        // only lower the included endpoints
+        val filter = options.endpointFilter
+        val builder = SnapshotBuilder()
+        val lowered = builder.build(api) { path, operation -> filter.isIncluded(path, operation) }
+        if (lowered == null) {
+            log.debug("\$ref without unique key, converting the parser model")
+            return api
+        }
+
+        logFiltered(builder.excluded, builder.included)
+        return lowered
+    }
+
+    private fun logFiltered(filtered: Int, included: Int) {
+        if (filtered > 0) {
+            log.info("skipping {} of {} endpoints (include/exclude-endpoints)", filtered, filtered + included)
+        }
     }
 
+    private class PathOperation(val path: String, val operation: Operation)
+
     private fun createInterfaces(api: OpenApi, target: Api) {
-        val interfaces = hashMapOf<String, Interface>()
+        val filter = options.endpointFilter
 
+        var filtered = 0
+        val operations = mutableListOf<PathOperation>()
         api.getPaths().forEach { (path, pathValue) ->
-            val operations = pathValue.getOperations()
+            pathValue.getOperations().forEach { op ->
+                if (filter.isIncluded(path, op)) {
+                    operations.add(PathOperation(path, op))
+                } else {
+                    filtered++
+                }
+            }
+        }
 
-            operations.forEach { op ->
-                val itf = createInterface(path, op, interfaces)
+        logFiltered(filtered, operations.size)
 
-                val ep = createEndpoint(path, op, target.getDataTypes(), api.getRefResolver())
-                if (ep != null) {
-                    itf.endpoints.add(ep)
-                }
+        val resolver = api.getRefResolver()
+        val endpoints = createEndpoints(operations, target.getDataTypes(), resolver)
+        logAliases(target.getDataTypes())
+
+        // keep the document order of the interfaces
+        val interfaces = linkedMapOf<String, Interface>()
+        operations.forEachIndexed { index, it ->
+            val itf = createInterface(it.path, it.operation, interfaces)
+
+            val ep = endpoints[index]
+            if (ep != null) {
+                itf.endpoints.add(ep)
             }
         }
 
         target.setInterfaces(interfaces.values.map { it })
     }
 
+    private fun createEndpoints(operations: List<PathOperation>, dataTypes: DataTypes, resolver: RefResolver)
+    : List<Endpoint?> {
+        if (options.parallelConversion) {
+            if (options.deduplicateInlineSchemas) {
+                log.debug("deduplicated inline schemas depend on endpoint order, converting sequentially")
+            } else if (isParallelConversionSafe()) {
+                val endpoints = createEndpointsParallel(operations, dataTypes, resolver)
+                if (endpoints != null)
+                    return endpoints
+
+                log.debug("\$ref loops or shared multipart schemas depend on endpoint order, converting sequentially")
+                dataTypes.clear()
+            } else {
+                log.debug("endpoint or io mappings depend on endpoint order, converting sequentially")
+            }
+        }
+
+        return operations.map {
+            createEndpoint(it.path, it.operation, dataTypes, resolver)
+        }
+    }
+
+    /**
+     * converts the endpoints on a fork-join pool. Each endpoint is converted by a single task with
+     * its own [DataTypeConverter] (i.e. its own loop detection state) and its own view of the
+     * data types. After the conversion the data types get the order of a sequential conversion.
+     *
+     * The data types of a $ref loop depend on the endpoint that converts the loop first (i.e.
+     * where the loop is broken by a [LazyDataType]). If a task detects a loop the remaining tasks
+     * are skipped and the result is dropped.
+     *
+     * If any task fails, the exception of the first failed task (in endpoint order) is re-thrown.
+     *
+     * @return the endpoints in operation order, or null if the result depends on the endpoint order
+     */
+    private fun createEndpointsParallel(operations: List<PathOperation>, dataTypes: DataTypes,
+        resolver: RefResolver): List<Endpoint?>? {
+
+        val parallelism = if (options.parallelism > 1) {
+            options.parallelism
+        } else {
+            Runtime.getRuntime().availableProcessors()
+        }
+        log.debug("converting endpoints with {} threads", parallelism)
+
+        val views = operations.map { dataTypes.createTask() }
+        val loops = AtomicBoolean()
+
+        val pool = ForkJoinPool(parallelism)
+        try {
+            val tasks = operations.mapIndexed { index, it ->
+                pool.submit(Callable {
+                    if (loops.get())
+                        return@Callable null
+
+                    val converter = DataTypeConverter(options, mappingFinder)
+                    dataTypeConverters.set(converter)
+                    try {
+                        createEndpoint(it.path, it.operation, views[index], resolver)
+                    } finally {
+                        if (converter.hasLoops)
+                            loops.set(true)
+
+                        dataTypeConverters.remove()
+                    }
+                })
+            }
+
+            val endpoints = tasks.map { await(it) }
+            if (loops.get() || !dataTypes.merge(views))
+                return null
+
+            return endpoints
+        } finally {
+            pool.shutdownNow()
+        }
+    }
+
+    private fun await(task: Future<Endpoint?>): Endpoint? {
+        try {
+            return task.get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        }
+    }
+
+    /**
+     * the parallel conversion creates the same result as the sequential conversion if a named
+     * data type does not depend on the endpoint that converts it first. Endpoint & io mappings
+     * depend on the endpoint, and generic mapping parameters of the generated model depend on
+     * the data types converted by the previous endpoints.
+     */
+    private fun isParallelConversionSafe(): Boolean {
+        val index = options.mappingIndex
+        if (index.hasEndpoints || index.global.hasIoTypeMappings)
+            return false
+
+        return options.typeMappings
+            .filterIsInstance<TypeMapping>()
+            .none { mapping ->
+                mapping.genericTypeNames.any { it.startsWith(options.packageName) }
+            }
+    }
+
     private fun createInterface(path: String, operation: Operation, interfaces: MutableMap<String, Interface>): Interface {
         val targetInterfaceName = getInterfaceName(operation, isExcluded(path, operation.getMethod()))
 
@@ -98,15 +270,17 @@ class  ApiConverter(
                 description = operation.description)
         )
 
-        return try {
-            collectParameters (operation.getParameters(), ep, dataTypes, resolver)
-            collectRequestBody (operation.getRequestBody(), ep, dataTypes, resolver)
-            collectResponses (operation.getResponses(), ep, dataTypes, resolver)
-            ep.initEndpointResponses ()
-            ep
-        } catch (e: UnknownDataTypeException) {
-            log.error ("failed to parse endpoint {} {} because of: '{}'", ep.path, ep.method, e.message, e)
-            null
+        return Jfr.measureEndpoint(path, ep.method.method, { dataTypes.created }) {
+            try {
+                collectParameters (operation.getParameters(), ep, dataTypes, resolver)
+                collectRequestBody (operation.getRequestBody(), ep, dataTypes, resolver)
+                collectResponses (operation.getResponses(), ep, dataTypes, resolver)
+                ep.initEndpointResponses ()
+                ep
+            } catch (e: UnknownDataTypeException) {
+                log.error ("failed to parse endpoint {} {} because of: '{}'", ep.path, ep.method, e.message, e)
+                null
+            }
         }
     }
 
@@ -199,7 +373,7 @@ class  ApiConverter(
         val tm = mapping.getChildMappings().first () as TypeMapping
         val tt = tm.getTargetType()
 
-        val addType = dataTypeConverter.createMappedDataType(tt)
+        val addType = dataTypeConverters.get().createMappedDataType(tt)
 
         var annotationType: AnnotationDataType? = null
         if (mapping.annotation != null) {
@@ -255,12 +429,14 @@ class  ApiConverter(
 
     private fun createMultipartParameter(info: SchemaInfo, encodings: Map<String, Encoding>,
         dataTypes: DataTypes): Collection<ModelParameter> {
-        val dataType = convertDataType(info, dataTypes)
+        // the data type gets removed, so it must not be shared with an equal inline schema
+        val dataType = dataTypeConverters.get().convertUnshared(info, dataTypes)
         if (dataType !is ObjectDataType) {
             throw MultipartResponseBodyException(info.getPath())
         }
 
         dataTypes.del(dataType)
+        dataTypeConverters.get().forget(dataType)
         val parameters = mutableListOf<ModelParameter>()
         dataType.forEach { property, propertyDataType ->
             val mpp = MultipartParameter(property, encodings[property]?.contentType)
@@ -308,8 +484,19 @@ class  ApiConverter(
         return responses
     }
 
+    private fun logAliases(dataTypes: DataTypes) {
+        val aliases = dataTypes.getAliases()
+        if (aliases.isEmpty())
+            return
+
+        aliases.forEach { (name, names) ->
+            log.debug("inline schema {} is equal to {}", names.joinToString(), name)
+        }
+        log.info("deduplicated {} inline schemas", aliases.values.sumOf { it.size })
+    }
+
     private fun convertDataType(info: SchemaInfo, dataTypes: DataTypes): DataType {
-        return dataTypeConverter.convert(info, dataTypes)
+        return dataTypeConverters.get().convert(info, dataTypes)
     }
 
     private fun getInlineRequestBodyName(path: String, method: HttpMethod): String {
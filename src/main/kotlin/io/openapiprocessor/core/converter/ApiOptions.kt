@@ -6,6 +6,7 @@
 package io.openapiprocessor.core.converter
 
 import io.openapiprocessor.core.converter.mapping.*
+import io.openapiprocessor.core.metrics.MetricsCollector
 import io.openapiprocessor.core.processor.mapping.v2.ResultStyle
 import io.openapiprocessor.core.support.Empty
 
@@ -63,6 +64,99 @@ class ApiOptions {
 
     var generatedDate = true
 
+    /**
+     * number of threads used to format & write the generated source files. Values greater than 1
+     * enable parallel writing. Default is 1, i.e. sequential.
+     */
+    var parallelism = 1
+
+    /**
+     * enable/disable parallel conversion of the endpoints. If enabled, the converter converts the
+     * endpoints on a fork-join pool with [parallelism] threads (or one thread per processor if
+     * [parallelism] is 1). The result is the same as the sequential conversion. If the result may
+     * depend on the endpoint order (e.g. because of endpoint mappings) it converts sequentially.
+     */
+    var parallelConversion = false
+
+    /**
+     * enable/disable incremental generation. If enabled, the writer only writes changed files,
+     * deletes files of a previous run that are no longer generated and stores a manifest of the
+     * generated files in [targetDir].
+     */
+    var incremental = false
+
+    /**
+     * digest of the processor inputs (see [io.openapiprocessor.core.processor.InputDigest]). It is
+     * stored in the manifest if [incremental] is enabled.
+     */
+    var inputDigest: String? = null
+
+    /**
+     * enable/disable the write-if-changed mode. If enabled, the writer compares a generated source
+     * file with the existing file and does not touch the existing file if both are equal. This
+     * keeps the modification time of unchanged files.
+     */
+    var writeIfChanged = false
+
+    /**
+     * enable/disable logging of the processing metrics. If enabled, the writer logs the wall time,
+     * cpu time and allocated bytes of each phase at info level.
+     */
+    var metrics = false
+
+    /**
+     * enable/disable writing the processing metrics. If enabled, the writer stores the metrics of
+     * each phase and each generated file as json in [targetDir] (`.openapi-processor/metrics.json`).
+     */
+    var metricsFile = false
+
+    /**
+     * folder of the formatted source cache. If set, the writer stores the formatted sources in the
+     * cache and does not run the formatter for a raw source that is already in the cache. The
+     * folder can be shared by concurrent processor runs. Default is null, i.e. no cache.
+     */
+    var formatCache: String? = null
+
+    /**
+     * maximum size of the [formatCache] in MB. If the cache is larger the least recently used
+     * entries are deleted.
+     */
+    var formatCacheSize = 100
+
+    /**
+     * folder of the parser snapshots. If set, the processor stores the parsed OpenAPI model in a
+     * binary snapshot and loads it instead of parsing the OpenAPI document again if the document
+     * did not change. Default is null, i.e. no snapshot.
+     */
+    var parserSnapshot: String? = null
+
+    /**
+     * selects the endpoints the processor converts & writes. Default is all endpoints.
+     */
+    var endpointFilter = EndpointFilter()
+
+    /**
+     * enable/disable reproducible output. If enabled, the generated sources do not contain a
+     * generation date and the writer uses UTF-8 instead of the platform charset. It also does not
+     * write the (timing dependent) metrics file into the target folder. Generated files, members
+     * and imports always have a stable order.
+     */
+    var reproducible = false
+
+    /**
+     * enable/disable deduplication of equal inline object & enum schemas. If enabled, inline
+     * schemas with the same structure (properties, types, constraints, required, ...) create a
+     * single class named after the first inline schema. The names of the other inline schemas are
+     * recorded as aliases of it (see [io.openapiprocessor.core.model.DataTypes.getAliases]).
+     */
+    var deduplicateInlineSchemas = false
+
+    /**
+     * collects the processing metrics if [metrics] or [metricsFile] is enabled. Processors can add
+     * their own phases.
+     */
+    val metricsCollector = MetricsCollector { metrics || metricsFile }
+
     /**
      * provide additional type mapping information to map OpenAPI types to java types. The list can
      * contain the following mappings:
@@ -75,6 +169,26 @@ class ApiOptions {
      * endpoint.
      */
     var typeMappings: List<Mapping> = emptyList()
+        set(value) {
+            field = value
+            index = null
+        }
+
+    private var index: MappingIndex? = null
+
+    /**
+     * lookup index of [typeMappings]. It is created on first access and re-created if
+     * [typeMappings] changes.
+     */
+    val mappingIndex: MappingIndex
+        get() {
+            var current = index
+            if (current == null) {
+                current = MappingIndex(typeMappings)
+                index = current
+            }
+            return current
+        }
 
     /**
      * validate that targetDir is set, throws if not.
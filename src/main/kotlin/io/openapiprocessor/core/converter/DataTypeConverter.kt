@@ -11,6 +11,7 @@ import io.openapiprocessor.core.converter.wrapper.NullDataTypeWrapper
 import io.openapiprocessor.core.model.DataTypeCollector
 import io.openapiprocessor.core.model.DataTypes
 import io.openapiprocessor.core.model.Documentation
+import io.openapiprocessor.core.model.HttpMethod
 import io.openapiprocessor.core.model.datatypes.*
 import io.openapiprocessor.core.support.capitalizeFirstChar
 import io.openapiprocessor.core.writer.java.ModelClassNameCreator
@@ -22,11 +23,55 @@ import kotlin.collections.LinkedHashMap
  */
 class DataTypeConverter(
     private val options: ApiOptions,
-    private val finder: MappingFinder = MappingFinder(options.typeMappings),
+    private val finder: MappingFinder = MappingFinder(options.mappingIndex),
     private val nullWrapper: NullDataTypeWrapper = NullDataTypeWrapper(options, finder)
 ) {
     private val current: Deque<SchemaInfo> = LinkedList()
 
+    /**
+     * number of the in-progress non-ref schema infos by name, i.e. the names on the [current]
+     * stack that are relevant for loop detection.
+     */
+    private val inProgress = HashMap<String, Int>()
+
+    /**
+     * key of a converted $ref: the $ref, the name of the resolved schema and the endpoint if the
+     * endpoint has its own mappings. Without endpoint mappings the result only depends on the
+     * global mappings and the endpoint is null.
+     */
+    private data class RefKey(val ref: String, val name: String, val path: String?, val method: HttpMethod?)
+
+    private val refs = HashMap<RefKey, DataType>()
+    private var refsOf: DataTypes? = null
+
+    /**
+     * the inline object & enum data types by structural key, see
+     * [ApiOptions.deduplicateInlineSchemas].
+     */
+    private val structures = HashMap<String, DataType>()
+
+    /**
+     * the schema info whose data type must not be shared, see [convertUnshared].
+     */
+    private var unshared: SchemaInfo? = null
+
+    /**
+     * true if the converter detected a $ref loop, i.e. if it created a [LazyDataType].
+     */
+    var hasLoops = false
+        private set
+
+    /**
+     * true if there is no in-progress schema, i.e. after a completed or a failed conversion.
+     */
+    internal val isIdle: Boolean
+        get() = current.isEmpty() && inProgress.isEmpty()
+
+    /**
+     * number of created [LazyDataType]s.
+     */
+    private var lazyCount = 0
+
     /**
      * converts an open api type (i.e. a {@code Schema}) to a java data type including nested types.
      * Stores named objects in {@code dataTypes} for re-use. {@code dataTypeInfo} provides the type
@@ -38,12 +83,47 @@ class DataTypeConverter(
      */
     fun convert(schemaInfo: SchemaInfo, dataTypes: DataTypes): DataType {
         if (isLoop(schemaInfo)) {
+            hasLoops = true
+            lazyCount++
             return LazyDataType(schemaInfo, dataTypes)
         }
 
         push(schemaInfo)
 
-        val result: DataType = when {
+        val result: DataType = try {
+            create(schemaInfo, dataTypes)
+        } finally {
+            pop()
+        }
+
+        // result is complete, add ref what is really required
+        if (current.isEmpty()) {
+            DataTypeCollector(dataTypes, options.packageName).collect(result)
+        }
+
+        return result
+    }
+
+    /**
+     * converts an open api type like [convert], but the (top level) data type is not shared with
+     * equal inline schemas. It is required if the caller removes the data type from the known data
+     * types, e.g. a multipart request body that is split into parameters.
+     *
+     * @param schemaInfo the open api type with context information
+     * @param dataTypes known object types
+     * @return the resulting java data type
+     */
+    fun convertUnshared(schemaInfo: SchemaInfo, dataTypes: DataTypes): DataType {
+        unshared = schemaInfo
+        try {
+            return convert(schemaInfo, dataTypes)
+        } finally {
+            unshared = null
+        }
+    }
+
+    private fun create(schemaInfo: SchemaInfo, dataTypes: DataTypes): DataType {
+        return when {
             schemaInfo.isRefObject() -> {
                 createRefDataType(schemaInfo, dataTypes)
             }
@@ -63,15 +143,6 @@ class DataTypeConverter(
                 createSimpleDataType(schemaInfo, dataTypes)
             }
         }
-
-        pop()
-
-        // result is complete, add ref what is really required
-        if (current.isEmpty()) {
-            DataTypeCollector(dataTypes, options.packageName).collect(result)
-        }
-
-        return result
     }
 
     fun createMappedDataType(
@@ -115,18 +186,21 @@ class DataTypeConverter(
             return createMappedDataType(targetType, schemaInfo, false)
         }
 
-        val found = dataTypes.find(schemaInfo.getName())
-        if (found != null) {
-            return found
-        }
-
-        val objectType: DataType
         if (schemaInfo.isComposedAllOf()) {
             val filtered = items.filterNot { item -> item is NoDataType }
             if (filtered.size == 1) {
-                return filtered.first()
+                return dataTypes.find(schemaInfo.getName()) ?: filtered.first()
             }
+        }
+
+        return dataTypes.getOrAdd(schemaInfo.getName()) {
+            createComposedDataType(schemaInfo, items)
+        }
+    }
 
+    private fun createComposedDataType(schemaInfo: SchemaInfo, items: List<DataType>): DataType {
+        val objectType: DataType
+        if (schemaInfo.isComposedAllOf()) {
             objectType = AllOfObjectDataType(
                 DataTypeName(schemaInfo.getName(), getTypeNameWithSuffix(schemaInfo.getName())),
                 listOf(options.packageName, "model").joinToString("."),
@@ -162,7 +236,6 @@ class DataTypeConverter(
             )
         }
 
-        dataTypes.add (objectType)
         return objectType
     }
 
@@ -198,10 +271,64 @@ class DataTypeConverter(
     }
 
     private fun createRefDataType (schemaInfo: SchemaInfo, dataTypes: DataTypes): DataType {
-        return convert(schemaInfo.buildForRef(), dataTypes)
+        val ref = schemaInfo.getRef() ?: return convert(schemaInfo.buildForRef(), dataTypes)
+
+        checkDataTypes(dataTypes)
+
+        val refInfo = schemaInfo.buildForRef()
+        val key = createRefKey(ref, refInfo)
+
+        val cached = refs[key]
+        if (cached != null && !isLoop(refInfo)) {
+            return cached
+        }
+
+        val result = convert(refInfo, dataTypes)
+
+        // a lazy type is only valid inside the loop that created it
+        if (result !is LazyDataType) {
+            refs[key] = result
+        }
+
+        return result
+    }
+
+    /**
+     * forget the converted $ref data type, i.e. the next conversion of the $ref will create it
+     * again. Required if the data type was removed from the known data types.
+     *
+     * @param dataType the data type
+     */
+    fun forget(dataType: DataType) {
+        refs.values.removeIf { it === dataType }
+        structures.values.removeIf { it === dataType }
+    }
+
+    /**
+     * the cached data types are only valid for the data types they were added to.
+     */
+    private fun checkDataTypes(dataTypes: DataTypes) {
+        if (refsOf !== dataTypes) {
+            refs.clear()
+            structures.clear()
+            refsOf = dataTypes
+        }
+    }
+
+    private fun createRefKey(ref: String, info: SchemaInfo): RefKey {
+        val index = options.mappingIndex
+        val path = info.getPath()
+        val method = info.getMethod()
+
+        if (index.getEndpoint(path, method) == null && index.getEndpoint(path, null) == null) {
+            return RefKey(ref, info.getName(), null, null)
+        }
+
+        return RefKey(ref, info.getName(), path, method)
     }
 
     private fun createObjectDataType(schemaInfo: SchemaInfo, dataTypes: DataTypes): DataType {
+        val lazyStart = lazyCount
         val properties = LinkedHashMap<String, PropertyDataType>()
         schemaInfo.eachProperty { propName: String, propSchemaInfo: SchemaInfo ->
             var propDataType = convert(propSchemaInfo, dataTypes)
@@ -224,17 +351,41 @@ class DataTypeConverter(
             return createMappedDataType(targetType, schemaInfo, false)
         }
 
-        val found = dataTypes.find(schemaInfo.getName())
-        if (found != null) {
-            return found
+        val key = if (lazyCount == lazyStart) createObjectKey(schemaInfo, properties) else null
+        return getOrAdd(key, schemaInfo.getName(), dataTypes) {
+            createObjectDataType(schemaInfo, properties)
         }
+    }
+
+    /**
+     * the key of an inline object: its structure and the type names of its properties. The type
+     * name of a property may depend on endpoint or name based mappings and on the deduplication
+     * of nested inline schemas.
+     */
+    private fun createObjectKey(schemaInfo: SchemaInfo, properties: Map<String, PropertyDataType>): String? {
+        if (!isDeduplicated(schemaInfo))
+            return null
+
+        val key = StringBuilder("object:")
+        key.append(schemaInfo.getStructuralKey())
+        properties.values.forEach {
+            key.append('|')
+                .append(it.getPackageName())
+                .append('.')
+                .append(it.getTypeName())
+        }
+        return key.toString()
+    }
+
+    private fun createObjectDataType(
+        schemaInfo: SchemaInfo, properties: LinkedHashMap<String, PropertyDataType>): DataType {
 
         val constraints = DataTypeConstraints(
             nullable = schemaInfo.getNullable(),
             required = schemaInfo.getRequired()
         )
 
-        val objectType = ObjectDataType (
+        return ObjectDataType (
             DataTypeName(schemaInfo.getName(), getTypeNameWithSuffix(schemaInfo.getName())),
             listOf(options.packageName, "model").joinToString("."),
             properties = properties,
@@ -242,9 +393,6 @@ class DataTypeConverter(
             deprecated = schemaInfo.getDeprecated(),
             documentation = Documentation(description = schemaInfo.description)
         )
-
-        dataTypes.add (schemaInfo.getName(), objectType)
-        return objectType
     }
 
     private fun createSimpleDataType(schemaInfo: SchemaInfo, dataTypes: DataTypes): DataType {
@@ -349,20 +497,68 @@ class DataTypeConverter(
         // class gets an uppercase name!
         val enumName = schemaInfo.getName().capitalizeFirstChar()
 
-        val found = dataTypes.find(enumName)
-        if (found != null) {
-            return found
+        val key = if (isDeduplicated(schemaInfo)) "enum:" + schemaInfo.getStructuralKey() else null
+        return getOrAdd(key, enumName, dataTypes) {
+            @Suppress("UNCHECKED_CAST")
+            StringEnumDataType (
+                DataTypeName(enumName, getTypeNameWithSuffix(enumName)),
+                listOf(options.packageName, "model").joinToString("."),
+                schemaInfo.getEnumValues() as List<String>,
+                constraints,
+                schemaInfo.getDeprecated())
         }
+    }
 
-        @Suppress("UNCHECKED_CAST") val enumType = StringEnumDataType (
-            DataTypeName(enumName, getTypeNameWithSuffix(enumName)),
-            listOf(options.packageName, "model").joinToString("."),
-            schemaInfo.getEnumValues() as List<String>,
-            constraints,
-            schemaInfo.getDeprecated())
+    /**
+     * get the data type of an equal inline schema (by structural [key]), or get or create the data
+     * type with the given name. If the data type of an equal inline schema is used, the name is
+     * recorded as its alias.
+     *
+     * @param key the structural key, null if the schema is not deduplicated
+     * @param name name of the data type
+     * @param dataTypes known object types
+     * @param create creates the data type
+     * @return the data type
+     */
+    private fun getOrAdd(key: String?, name: String, dataTypes: DataTypes, create: () -> DataType): DataType {
+        if (key == null)
+            return dataTypes.getOrAdd(name, create)
 
-        dataTypes.add (enumName, enumType)
-        return enumType
+        checkDataTypes(dataTypes)
+
+        val equal = structures[key]
+        if (equal != null) {
+            if (equal.getName() != name) {
+                dataTypes.addAlias(equal.getName(), name)
+            }
+            return equal
+        }
+
+        var created = false
+        val dataType = dataTypes.getOrAdd(name) {
+            created = true
+            create()
+        }
+
+        // an (unequal) data type with the same name is not the data type of this structure
+        if (created) {
+            structures[key] = dataType
+        }
+
+        return dataType
+    }
+
+    /**
+     * only inline schemas are deduplicated. Items of composed schemas are excluded because an
+     * item may implement the (oneOf) interface of its composed schema.
+     */
+    private fun isDeduplicated(schemaInfo: SchemaInfo): Boolean {
+        if (!options.deduplicateInlineSchemas || schemaInfo.isResolvedRef || schemaInfo === unshared)
+            return false
+
+        val stack = current.iterator()
+        stack.next() // the schema itself
+        return !(stack.hasNext() && stack.next().isComposedObject())
     }
 
     /**
@@ -403,6 +599,10 @@ class DataTypeConverter(
      */
     private fun push(info: SchemaInfo) {
         current.push(info)
+
+        if (!info.isRefObject()) {
+            inProgress.merge(info.getName(), 1, Int::plus)
+        }
     }
 
     /**
@@ -410,7 +610,11 @@ class DataTypeConverter(
      *
      */
     private fun pop() {
-        current.pop()
+        val info = current.pop()
+
+        if (!info.isRefObject()) {
+            inProgress.computeIfPresent(info.getName()) { _, count -> if (count > 1) count - 1 else null }
+        }
     }
 
     /**
@@ -423,12 +627,9 @@ class DataTypeConverter(
      * @return true if loop else false
      */
     private fun isLoop(info: SchemaInfo): Boolean {
-        val found = current.find {
-            // $ref and non-ref SchemaInfo have the same name.
-            // We are only interested if we have seen a non-ref!
-            it.getName() == info.getName() && !it.isRefObject()
-        }
-        return found != null
+        // $ref and non-ref SchemaInfo have the same name.
+        // We are only interested if we have seen a non-ref!
+        return inProgress.containsKey(info.getName())
     }
 
     private fun getTypeNameWithSuffix(name: String): String {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.openapiprocessor.core.parser.Operation
+
+/**
+ * filters the endpoints of the OpenAPI document before the conversion. The converter ignores a
+ * filtered endpoint, i.e. its schemas are not converted unless they are used by another endpoint,
+ * and the writer does not generate anything for it.
+ *
+ * An endpoint passes the filter if it is selected by [include] (or if there is no [include]) and
+ * it is not selected by [exclude].
+ */
+class EndpointFilter(
+    private val include: EndpointSelector? = null,
+    private val exclude: EndpointSelector? = null
+) {
+
+    /**
+     * true if the filter passes all endpoints.
+     */
+    val isEmpty: Boolean
+        get() = (include == null || include.isEmpty()) && (exclude == null || exclude.isEmpty())
+
+    /**
+     * check if the endpoint passes the filter.
+     *
+     * @param path the endpoint path
+     * @param operation the endpoint operation
+     * @return true if the endpoint should be processed, otherwise false
+     */
+    fun isIncluded(path: String, operation: Operation): Boolean {
+        if (include != null && !include.isEmpty() && !include.matches(path, operation))
+            return false
+
+        if (exclude != null && exclude.matches(path, operation))
+            return false
+
+        return true
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.openapiprocessor.core.parser.Operation
+
+/**
+ * selects endpoints by tag, path or operation id. An endpoint is selected if it matches any of
+ * the tags, paths or operation ids.
+ *
+ * A path is a path prefix (matching complete path segments, i.e. `/foo` matches `/foo/bar` but
+ * not `/foobar`) or a glob if it contains a `*` or `?`. In a glob `*` matches any characters of
+ * a single path segment, `**` matches any number of path segments and `?` matches a single
+ * character.
+ */
+class EndpointSelector(
+    tags: Collection<String> = emptyList(),
+    paths: Collection<String> = emptyList(),
+    operationIds: Collection<String> = emptyList()
+) {
+    private val tags: Set<String> = tags.toSet()
+    private val operationIds: Set<String> = operationIds.toSet()
+    private val prefixes: List<String> = paths.filterNot { isGlob(it) }
+    private val globs: List<Regex> = paths.filter { isGlob(it) }.map { toRegex(it) }
+
+    fun isEmpty(): Boolean {
+        return tags.isEmpty() && operationIds.isEmpty() && prefixes.isEmpty() && globs.isEmpty()
+    }
+
+    /**
+     * check if the endpoint is selected.
+     *
+     * @param path the endpoint path
+     * @param operation the endpoint operation
+     * @return true if the endpoint is selected, otherwise false
+     */
+    fun matches(path: String, operation: Operation): Boolean {
+        if (operationIds.isNotEmpty() && operation.getOperationId() in operationIds)
+            return true
+
+        if (tags.isNotEmpty() && operation.getTags().any { it in tags })
+            return true
+
+        if (prefixes.any { isPrefix(it, path) })
+            return true
+
+        return globs.any { it.matches(path) }
+    }
+
+    private fun isPrefix(prefix: String, path: String): Boolean {
+        val trimmed = prefix.trimEnd('/')
+        if (trimmed.isEmpty())
+            return true
+
+        return path == trimmed || path.startsWith("$trimmed/")
+    }
+
+    private fun isGlob(path: String): Boolean {
+        return path.contains('*') || path.contains('?')
+    }
+
+    private fun toRegex(glob: String): Regex {
+        val regex = StringBuilder()
+
+        var idx = 0
+        while (idx < glob.length) {
+            val c = glob[idx]
+            when {
+                glob.startsWith("**", idx) -> {
+                    regex.append(".*")
+                    idx++
+                }
+                c == '*' -> regex.append("[^/]*")
+                c == '?' -> regex.append("[^/]")
+                else -> regex.append(Regex.escape(c.toString()))
+            }
+            idx++
+        }
+
+        return Regex(regex.toString())
+    }
+}
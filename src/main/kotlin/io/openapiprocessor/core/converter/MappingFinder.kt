@@ -6,67 +6,32 @@
 package io.openapiprocessor.core.converter
 
 import io.openapiprocessor.core.converter.mapping.AnnotationTypeMapping
-import io.openapiprocessor.core.converter.mapping.EndpointTypeMapping
 import io.openapiprocessor.core.converter.mapping.Mapping
-import io.openapiprocessor.core.converter.mapping.ParameterAnnotationTypeMapping
+import io.openapiprocessor.core.converter.mapping.MappingIndex
 import io.openapiprocessor.core.model.HttpMethod
 
 /**
  * find mappings in the type mapping list.
  */
-class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
+class MappingFinder(private val index: MappingIndex) {
+
+    constructor(typeMappings: List<Mapping> = emptyList()): this(MappingIndex(typeMappings))
 
     fun findTypeAnnotations(typeName: String): List<AnnotationTypeMapping> {
-        return findTypeAnnotations(typeMappings, typeName)
+        return index.global.findAnnotationTypeMappings(typeName)
     }
 
     fun findParameterAnnotations(path: String, method: HttpMethod?, typeName: String)
     : List<AnnotationTypeMapping> {
 
-        val epMappings = findEndpointMappings(typeMappings, path, method)
-        if (epMappings.isNotEmpty()) {
-            val am = findParameterAnnotations(epMappings, typeName)
+        // find with method, without method
+        val ep = index.getEndpoint(path, method) ?: index.getEndpoint(path, null)
+        if (ep != null) {
+            val am = ep.mappings.findParameterAnnotationTypeMappings(typeName)
             if (am.isNotEmpty())
                 return am
         }
 
-        return findParameterAnnotations(typeMappings, typeName)
-    }
-
-    private fun findEndpointMappings(typeMappings: List<Mapping>, path: String, method: HttpMethod?)
-        : List<Mapping> {
-
-        // find with method
-        var epMappings = typeMappings
-            .filterIsInstance<EndpointTypeMapping>()
-            .filter { it.path == path && it.method == method }
-
-        // find without method
-        if (epMappings.isEmpty()) {
-            epMappings = typeMappings
-                .filterIsInstance<EndpointTypeMapping>()
-                .filter { it.path == path && it.method == null }
-        }
-
-        return epMappings
-            .map { it.getChildMappings() }
-            .flatten()
-    }
-
-    private fun findTypeAnnotations(typeMappings: List<Mapping>, typeName: String)
-        : List<AnnotationTypeMapping> {
-
-        return typeMappings
-            .filterIsInstance<AnnotationTypeMapping>()
-            .filter { it.sourceTypeName == typeName }
-    }
-
-    private fun findParameterAnnotations(typeMappings: List<Mapping>, typeName: String)
-        : List<AnnotationTypeMapping> {
-
-        return typeMappings
-            .filterIsInstance<ParameterAnnotationTypeMapping>()
-            .filter { it.sourceTypeName == typeName }
-            .map { it.annotationTypeMapping }
+        return index.global.findParameterAnnotationTypeMappings(typeName)
     }
 }
@@ -5,9 +5,11 @@
 
 package io.openapiprocessor.core.converter
 
+import io.openapiprocessor.core.metrics.MetricsCollector
 import io.openapiprocessor.core.processor.MappingConverter
 import io.openapiprocessor.core.processor.MappingReader
 import io.openapiprocessor.core.processor.mapping.MappingVersion
+import io.openapiprocessor.core.processor.mapping.v2.EndpointSelection
 import io.openapiprocessor.core.processor.mapping.v1.Mapping as MappingV1
 import io.openapiprocessor.core.processor.mapping.v2.Mapping as MappingV2
 import org.slf4j.Logger
@@ -31,7 +33,10 @@ class OptionsConverter(private val checkObsoleteProcessorOptions: Boolean = fals
         }
 
         if (processorOptions.containsKey("mapping")) {
-            readMapping(processorOptions["mapping"].toString(), options)
+            // the mapping enables the metrics, i.e. it is known after reading it
+            options.metricsCollector.measureEnabling(MetricsCollector.MAPPING) {
+                readMapping(processorOptions["mapping"].toString(), options)
+            }
         } else {
             log.warn("required option 'mapping' is missing!")
         }
@@ -59,6 +64,23 @@ class OptionsConverter(private val checkObsoleteProcessorOptions: Boolean = fals
                 options.oneOfInterface = mapping.options.oneOfInterface
                 options.formatCode = mapping.options.formatCode
                 options.generatedDate = mapping.options.generatedDate
+                options.parallelism = mapping.options.parallelism
+                options.parallelConversion = mapping.options.parallelConversion
+                options.incremental = mapping.options.incremental
+                options.writeIfChanged = mapping.options.writeIfChanged
+                options.metrics = mapping.options.metrics
+                options.metricsFile = mapping.options.metricsFile
+                options.formatCache = mapping.options.formatCache
+                options.formatCacheSize = mapping.options.formatCacheSize
+                options.parserSnapshot = mapping.options.parserSnapshot
+                options.endpointFilter = EndpointFilter(
+                    createSelector(mapping.options.includeEndpoints),
+                    createSelector(mapping.options.excludeEndpoints))
+                options.reproducible = mapping.options.reproducible
+                if (options.reproducible) {
+                    options.generatedDate = false
+                }
+                options.deduplicateInlineSchemas = mapping.options.deduplicateInlineSchemas
             }
         }
 
@@ -69,6 +91,13 @@ class OptionsConverter(private val checkObsoleteProcessorOptions: Boolean = fals
         options.typeMappings = MappingConverter().convert(mapping)
     }
 
+    private fun createSelector(selection: EndpointSelection?): EndpointSelector? {
+        if (selection == null)
+            return null
+
+        return EndpointSelector(selection.tags, selection.paths, selection.operationIds)
+    }
+
     private fun checkDeprecatedMapOptions(processorOptions: Map<String, *>, options: ApiOptions) {
         if (!checkObsoleteProcessorOptions)
             return
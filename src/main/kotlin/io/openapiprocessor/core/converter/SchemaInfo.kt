@@ -58,6 +58,12 @@ open class SchemaInfo(
      */
     private var refName: Boolean = false
 
+    /**
+     * true if this is the resolved schema of a $ref, false if it is an inline schema.
+     */
+    val isResolvedRef: Boolean
+        get() = refName
+
     override fun getPath(): String {
         return endpoint.path
     }
@@ -321,7 +327,10 @@ open class SchemaInfo(
     }
 
     override fun isPrimitive(): Boolean {
-        return listOf("boolean", "integer", "number", "string").contains(schema?.getType())
+        return when (schema?.getType()) {
+            "boolean", "integer", "number", "string" -> true
+            else -> false
+        }
     }
 
     override fun isArray(): Boolean {
@@ -364,6 +373,15 @@ open class SchemaInfo(
         return schema!!.getEnum()
     }
 
+    /**
+     * get the structural key of the schema, see [createStructuralKey].
+     *
+     * @return the structural key
+     */
+    fun getStructuralKey(): String {
+        return createStructuralKey(schema!!)
+    }
+
     private fun getArrayItemName(): String {
         return "Array" + name.capitalizeFirstChar()
     }
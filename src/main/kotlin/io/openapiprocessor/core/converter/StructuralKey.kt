@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.openapiprocessor.core.parser.Schema
+
+/**
+ * creates the structural key of a schema. The key does not depend on the name of the schema, it
+ * contains its type, format, properties, items, required, constraints, enum & default values and
+ * documentation (recursively). A `$ref` is part of the key by its `$ref` string.
+ *
+ * Two schemas with the same key create the same (inline) data type, except for its name. The key
+ * is exact, i.e. unlike a hash it does not have collisions.
+ *
+ * @param schema the schema
+ * @return the structural key
+ */
+fun createStructuralKey(schema: Schema): String {
+    val key = StringBuilder(256)
+    appendSchema(key, schema)
+    return key.toString()
+}
+
+private fun appendSchema(key: StringBuilder, schema: Schema) {
+    key.append('{')
+
+    val type = schema.getType()
+    appendValue(key, type)
+    appendValue(key, schema.getFormat())
+    appendValue(key, schema.getRef())
+    appendValue(key, schema.itemsOf())
+
+    appendValue(key, schema.getEnum())
+    appendValue(key, schema.getDefault())
+    appendValue(key, schema.description)
+    appendValue(key, schema.getRequired())
+
+    appendFlag(key, schema.isDeprecated())
+    appendFlag(key, schema.getNullable())
+    appendFlag(key, schema.readOnly)
+    appendFlag(key, schema.writeOnly)
+
+    appendValue(key, schema.getMinLength())
+    appendValue(key, schema.getMaxLength())
+    appendValue(key, schema.getMinItems())
+    appendValue(key, schema.getMaxItems())
+    appendValue(key, schema.getMinimum())
+    appendFlag(key, schema.isExclusiveMinimum())
+    appendValue(key, schema.getMaximum())
+    appendFlag(key, schema.isExclusiveMaximum())
+    appendValue(key, schema.pattern)
+
+    if (type == "array") {
+        appendSchema(key, schema.getItem())
+    }
+
+    key.append('(')
+    schema.getProperties().forEach { (name, property) ->
+        appendValue(key, name)
+        appendSchema(key, property)
+    }
+    key.append(')')
+
+    key.append('[')
+    schema.getItems().forEach {
+        appendSchema(key, it)
+    }
+    key.append(']')
+
+    key.append('}')
+}
+
+private fun appendFlag(key: StringBuilder, value: Boolean) {
+    key.append(if (value) 'T' else 'F')
+}
+
+/**
+ * appends a value with its type and length, i.e. the key of two different values is always
+ * different.
+ */
+private fun appendValue(key: StringBuilder, value: Any?) {
+    when (value) {
+        null -> {
+            key.append('~')
+        }
+        is Collection<*> -> {
+            key.append('<')
+            value.forEach { appendValue(key, it) }
+            key.append('>')
+        }
+        is Map<*, *> -> {
+            key.append("m<")
+            value.forEach { (k, v) ->
+                appendValue(key, k)
+                appendValue(key, v)
+            }
+            key.append('>')
+        }
+        else -> {
+            val text = value.toString()
+            key.append(value.javaClass.simpleName)
+                .append(':')
+                .append(text.length)
+                .append(':')
+                .append(text)
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter.mapping
+
+import io.openapiprocessor.core.processor.mapping.v2.ResultStyle
+
+/**
+ * lookup tables of a flat mapping list, i.e. the global mappings or the (child) mappings of an
+ * endpoint. The lookups return the matches in the same order as the original mapping list.
+ */
+class IndexedMappings(mappings: List<Mapping>) {
+
+    private data class TypeKey(val name: String?, val format: String?)
+
+    private class Indexed(val index: Int, val mapping: TypeMapping)
+
+    private val types = HashMap<TypeKey, MutableList<Indexed>>()
+    private val arrays = mutableListOf<Indexed>()
+    private val parameters = HashMap<String, MutableList<Mapping>>()
+    private val responses = HashMap<String, MutableList<Mapping>>()
+    private val annotations = HashMap<String, MutableList<AnnotationTypeMapping>>()
+    private val parameterAnnotations = HashMap<String, MutableList<AnnotationTypeMapping>>()
+
+    /**
+     * all "add parameter" mappings.
+     */
+    val addParameters: List<AddParameterTypeMapping>
+
+    /**
+     * first "result" mapping or null.
+     */
+    val result: ResultTypeMapping?
+
+    /**
+     * first "single" mapping or null.
+     */
+    val single: TypeMapping?
+
+    /**
+     * first "multi" mapping or null.
+     */
+    val multi: TypeMapping?
+
+    /**
+     * first "null" mapping or null.
+     */
+    val nullType: NullTypeMapping?
+
+    /**
+     * first "result style" option value or null.
+     */
+    val resultStyle: ResultStyle?
+
+    init {
+        val addParameters = mutableListOf<AddParameterTypeMapping>()
+        var result: ResultTypeMapping? = null
+        var single: TypeMapping? = null
+        var multi: TypeMapping? = null
+        var nullType: NullTypeMapping? = null
+        var resultStyle: ResultStyle? = null
+
+        mappings.forEachIndexed { index, mapping ->
+            when (mapping) {
+                is TypeMapping -> {
+                    val indexed = Indexed(index, mapping)
+                    types.getOrPut(TypeKey(mapping.sourceTypeName, mapping.sourceTypeFormat)) {
+                        mutableListOf()
+                    }.add(indexed)
+
+                    when (mapping.sourceTypeName) {
+                        "array" -> arrays.add(indexed)
+                        "single" -> if (single == null) single = mapping
+                        "multi" -> if (multi == null) multi = mapping
+                    }
+                }
+                is ParameterTypeMapping -> {
+                    parameters.getOrPut(mapping.parameterName) { mutableListOf() }
+                        .addAll(mapping.getChildMappings())
+                }
+                is ResponseTypeMapping -> {
+                    responses.getOrPut(mapping.contentType) { mutableListOf() }
+                        .addAll(mapping.getChildMappings())
+                }
+                is AddParameterTypeMapping -> {
+                    addParameters.add(mapping)
+                }
+                is ResultTypeMapping -> {
+                    if (result == null) result = mapping
+                }
+                is NullTypeMapping -> {
+                    if (nullType == null && mapping.sourceTypeName == "null") nullType = mapping
+                }
+                is ResultStyleOptionMapping -> {
+                    if (resultStyle == null) resultStyle = mapping.value
+                }
+                is AnnotationTypeMapping -> {
+                    annotations.getOrPut(mapping.sourceTypeName) { mutableListOf() }
+                        .add(mapping)
+                }
+                is ParameterAnnotationTypeMapping -> {
+                    parameterAnnotations.getOrPut(mapping.sourceTypeName) { mutableListOf() }
+                        .add(mapping.annotationTypeMapping)
+                }
+            }
+        }
+
+        this.addParameters = addParameters
+        this.result = result
+        this.single = single
+        this.multi = multi
+        this.nullType = nullType
+        this.resultStyle = resultStyle
+    }
+
+    /**
+     * find the type mappings matching the given schema. Same result as filtering the mapping list
+     * with [io.openapiprocessor.core.converter.mapping.matcher.TypeMatcher].
+     *
+     * @param schema the schema
+     * @return the matching mappings in mapping list order
+     */
+    fun findTypeMappings(schema: MappingSchema): List<Mapping> {
+        val byName = types[TypeKey(schema.getName(), schema.getFormat())]
+
+        val byType = if (schema.isPrimitive()) {
+            types[TypeKey(schema.getType(), schema.getFormat())]
+        } else {
+            null
+        }
+
+        val byArray = if (schema.isArray()) arrays else null
+
+        return merge(byName, byType, byArray)
+    }
+
+    /**
+     * true if there are parameter or response (io) type mappings.
+     */
+    val hasIoTypeMappings: Boolean
+        get() = parameters.isNotEmpty() || responses.isNotEmpty()
+
+    /**
+     * find the type mappings of the given parameter name.
+     *
+     * @param name the parameter name
+     * @return the matching mappings in mapping list order
+     */
+    fun findParameterTypeMappings(name: String): List<Mapping> {
+        return parameters[name] ?: emptyList()
+    }
+
+    /**
+     * find the type mappings of the given response content type.
+     *
+     * @param contentType the content type
+     * @return the matching mappings in mapping list order
+     */
+    fun findResponseTypeMappings(contentType: String): List<Mapping> {
+        return responses[contentType] ?: emptyList()
+    }
+
+    /**
+     * find the annotation mappings of the given type name.
+     *
+     * @param typeName the type name
+     * @return the matching annotation mappings in mapping list order
+     */
+    fun findAnnotationTypeMappings(typeName: String): List<AnnotationTypeMapping> {
+        return annotations[typeName] ?: emptyList()
+    }
+
+    /**
+     * find the parameter annotation mappings of the given type name.
+     *
+     * @param typeName the type name
+     * @return the matching annotation mappings in mapping list order
+     */
+    fun findParameterAnnotationTypeMappings(typeName: String): List<AnnotationTypeMapping> {
+        return parameterAnnotations[typeName] ?: emptyList()
+    }
+
+    private fun merge(vararg candidates: List<Indexed>?): List<Mapping> {
+        val found = candidates.filterNotNull().filter { it.isNotEmpty() }
+        if (found.isEmpty())
+            return emptyList()
+
+        if (found.size == 1)
+            return found.first().map { it.mapping }
+
+        return found
+            .flatten()
+            .distinctBy { it.index }
+            .sortedBy { it.index }
+            .map { it.mapping }
+    }
+
+}
@@ -6,7 +6,7 @@
 package io.openapiprocessor.core.converter.mapping
 
 import io.openapiprocessor.core.converter.SchemaInfo
-import io.openapiprocessor.core.converter.mapping.matcher.*
+import io.openapiprocessor.core.metrics.jfr.Jfr
 import io.openapiprocessor.core.model.HttpMethod
 import io.openapiprocessor.core.processor.mapping.v2.ResultStyle
 
@@ -15,7 +15,10 @@ import io.openapiprocessor.core.processor.mapping.v2.ResultStyle
  *
  * todo move & simplify to parent package
  */
-class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
+class MappingFinder(private val index: MappingIndex) {
+
+    @JvmOverloads
+    constructor(typeMappings: List<Mapping> = emptyList()): this(MappingIndex(typeMappings))
 
     /**
      * find a matching endpoint mapping for the given schema info.
@@ -25,27 +28,26 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @throws AmbiguousTypeMappingException if there is more than one match.
      */
     fun findEndpointTypeMapping(info: SchemaInfo): TypeMapping? {
-        // check with method
-        val m = findEndpointTypeMapping(info, info.getMethod())
-        if (m != null)
-            return m
-
-        // check without method, i.e. all methods
-        return findEndpointTypeMapping(info, null)
+        return Jfr.measureLookup("endpoint", { info.getPath() }, { info.getName() }) {
+            // check with method
+            findEndpointTypeMapping(info, info.getMethod())
+                // check without method, i.e. all methods
+                ?: findEndpointTypeMapping(info, null)
+        }
     }
 
     private fun findEndpointTypeMapping(info: SchemaInfo, method: HttpMethod?): TypeMapping? {
-        val ep = filterMappings(EndpointTypeMatcher(info.getPath(), method), typeMappings)
+        val ep = index.getEndpoint(info.getPath(), method)?.mappings ?: return null
 
-        val parameter = getTypeMapping(filterMappings(ParameterTypeMatcher(info), ep))
+        val parameter = getTypeMapping(ep.findParameterTypeMappings(info.getName()))
         if (parameter != null)
             return parameter
 
-        val response = getTypeMapping(filterMappings(ResponseTypeMatcher(info), ep))
+        val response = getTypeMapping(ep.findResponseTypeMappings(info.getContentType()))
         if (response != null)
             return response
 
-        return getTypeMapping(filterMappings(TypeMatcher(info), ep))
+        return getTypeMapping(ep.findTypeMappings(info))
     }
 
     /**
@@ -56,15 +58,10 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @throws AmbiguousTypeMappingException if there is more than one match.
      */
     fun findIoTypeMapping(info: SchemaInfo): TypeMapping? {
-        val parameter = getTypeMapping(filterMappings(ParameterTypeMatcher(info), typeMappings))
-        if (parameter != null)
-            return parameter
-
-        val response = getTypeMapping(filterMappings(ResponseTypeMatcher(info), typeMappings))
-        if (response != null)
-            return response
-
-        return null
+        return Jfr.measureLookup("io", { info.getPath() }, { info.getName() }) {
+            getTypeMapping(index.global.findParameterTypeMappings(info.getName()))
+                ?: getTypeMapping(index.global.findResponseTypeMappings(info.getContentType()))
+        }
     }
 
     /**
@@ -75,7 +72,9 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @throws AmbiguousTypeMappingException if there is more than one match.
      */
     fun findTypeMapping(info: SchemaInfo): TypeMapping? {
-        return getTypeMapping(filterMappings(TypeMatcher(info), typeMappings))
+        return Jfr.measureLookup("type", { info.getPath() }, { info.getName() }) {
+            getTypeMapping(index.global.findTypeMappings(info))
+        }
     }
 
     /**
@@ -85,13 +84,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @throws AmbiguousTypeMappingException if there is more than one match.
      */
     fun findAddParameterTypeMappings(): List<AddParameterTypeMapping>  {
-        val matches = typeMappings
-            .filterIsInstance(AddParameterTypeMapping::class.java)
-
-        if (matches.isNotEmpty())
-            return matches
-
-        return emptyList()
+        return index.global.addParameters
     }
 
     /**
@@ -103,14 +96,12 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      */
     fun findEndpointAddParameterTypeMappings(path: String, method: HttpMethod): List<AddParameterTypeMapping> {
         // check with method
-        val m = filterMappings(EndpointTypeMatcher(path, method), typeMappings)
-            .filterIsInstance<AddParameterTypeMapping>()
+        val m = index.getEndpoint(path, method)?.mappings?.addParameters ?: emptyList()
         if (m.isNotEmpty())
             return m
 
         // check without method, i.e. all methods
-        return filterMappings(EndpointTypeMatcher(path, null), typeMappings)
-            .filterIsInstance<AddParameterTypeMapping>()
+        return index.getEndpoint(path, null)?.mappings?.addParameters ?: emptyList()
     }
 
     /**
@@ -120,17 +111,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "result" type mappings or null if there is no match.
      */
     fun findEndpointResultTypeMapping(info: SchemaInfo): ResultTypeMapping? {
-        val ep = filterMappings(EndpointTypeMatcher(info.getPath(), info.getMethod()), typeMappings)
-        val matches = filterMappings({ _: ResultTypeMapping -> true }, ep)
-        if (matches.isNotEmpty())
-            return matches.first() as ResultTypeMapping
-
-        val epAll = filterMappings(EndpointTypeMatcher(info.getPath(), null), typeMappings)
-        val matchesAll = filterMappings({ _: ResultTypeMapping -> true }, epAll)
-        if (matchesAll.isNotEmpty())
-            return matchesAll.first() as ResultTypeMapping
-
-        return null
+        return findEndpoint(info) { it.result }
     }
 
     /**
@@ -139,11 +120,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "result" type mapping or null if there is no match.
      */
     fun findResultTypeMapping(): ResultTypeMapping? {
-        val matches = filterMappings({ _: ResultTypeMapping -> true }, typeMappings)
-        if (matches.isEmpty())
-            return null
-
-        return matches.first() as ResultTypeMapping
+        return index.global.result
     }
 
     /**
@@ -152,13 +129,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the [ResultStyle] if set, otherwise null.
      */
     fun findResultStyleMapping(): ResultStyle? {
-        val matches = typeMappings
-            .filterIsInstance(ResultStyleOptionMapping::class.java)
-
-        if (matches.isEmpty())
-            return null
-
-        return matches.first().value
+        return index.global.resultStyle
     }
 
     /**
@@ -168,17 +139,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "single" type mappings or null if there is no match.
      */
     fun findEndpointSingleTypeMapping(info: SchemaInfo): TypeMapping? {
-        val ep = filterMappings(EndpointTypeMatcher(info.getPath(), info.getMethod()), typeMappings)
-        val matches = filterMappings(SingleTypeMatcher(), ep)
-        if (matches.isNotEmpty())
-            return matches.first() as TypeMapping
-
-        val epAll = filterMappings(EndpointTypeMatcher(info.getPath(), null), typeMappings)
-        val matchesAll = filterMappings(SingleTypeMatcher(), epAll)
-        if (matchesAll.isNotEmpty())
-            return matchesAll.first() as TypeMapping
-
-        return null
+        return findEndpoint(info) { it.single }
     }
 
     /**
@@ -187,11 +148,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "single" type mappings or null if there is no match.
      */
     fun findSingleTypeMapping(): TypeMapping? {
-        val matches = filterMappings(SingleTypeMatcher(), typeMappings)
-        if (matches.isEmpty())
-            return null
-
-        return matches.first() as TypeMapping
+        return index.global.single
     }
 
     /**
@@ -201,17 +158,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "multi" type mappings or null if there is no match.
      */
     fun findEndpointMultiTypeMapping(info: SchemaInfo): TypeMapping? {
-        val ep = filterMappings(EndpointTypeMatcher(info.getPath(), info.getMethod()), typeMappings)
-        val matches = filterMappings(MultiTypeMatcher(), ep)
-        if (matches.isNotEmpty())
-            return matches.first() as TypeMapping
-
-        val epAll = filterMappings(EndpointTypeMatcher(info.getPath(), null), typeMappings)
-        val matchesAll = filterMappings(MultiTypeMatcher(), epAll)
-        if (matchesAll.isNotEmpty())
-            return matchesAll.first() as TypeMapping
-
-        return null
+        return findEndpoint(info) { it.multi }
     }
 
     /**
@@ -220,11 +167,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "multi" type mappings or null if there is no match.
      */
     fun findMultiTypeMapping(): TypeMapping? {
-        val matches = filterMappings(MultiTypeMatcher(), typeMappings)
-        if (matches.isEmpty())
-            return null
-
-        return matches.first() as TypeMapping
+        return index.global.multi
     }
 
     /**
@@ -234,22 +177,8 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return true/false
      */
      fun isExcludedEndpoint(path: String, method: HttpMethod): Boolean {
-        var methodExcluded = false
-        var allExcluded = false
-
-        val ep = typeMappings
-            .filterIsInstance<EndpointTypeMapping>()
-            .filter(EndpointTypeMatcher(path, method))
-
-        if (ep.isNotEmpty())
-            methodExcluded = ep.first().exclude
-
-        val epAll = typeMappings
-            .filterIsInstance<EndpointTypeMapping>()
-            .filter(EndpointTypeMatcher(path, null))
-
-        if (epAll.isNotEmpty())
-            allExcluded = epAll.first().exclude
+        val methodExcluded = index.getEndpoint(path, method)?.exclude ?: false
+        val allExcluded = index.getEndpoint(path, null)?.exclude ?: false
 
         return methodExcluded || allExcluded
     }
@@ -261,17 +190,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "null" type mappings or null if there is no match.
      */
     fun findEndpointNullTypeMapping(info: SchemaInfo): NullTypeMapping? {
-        val ep = filterMappings(EndpointTypeMatcher(info.getPath(), info.getMethod()), typeMappings)
-        val matches = filterMappings(NullTypeMatcher(), ep)
-        if (matches.isNotEmpty())
-            return matches.first() as NullTypeMapping
-
-        val epAll = filterMappings(EndpointTypeMatcher(info.getPath(), null), typeMappings)
-        val matchesAll = filterMappings(NullTypeMatcher(), epAll)
-        if (matchesAll.isNotEmpty())
-            return matchesAll.first() as NullTypeMapping
-
-        return null
+        return findEndpoint(info) { it.nullType }
     }
 
     /**
@@ -280,11 +199,7 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
      * @return the "multi" type mappings or null if there is no match.
      */
     fun findNullTypeMapping(): NullTypeMapping? {
-        val matches = filterMappings(NullTypeMatcher(), typeMappings)
-        if (matches.isEmpty())
-            return null
-
-        return matches.first() as NullTypeMapping
+        return index.global.nullType
     }
 
     private fun getTypeMapping(mappings: List<Mapping>): TypeMapping? {
@@ -297,14 +212,16 @@ class MappingFinder(private val typeMappings: List<Mapping> = emptyList()) {
         return mappings.first() as TypeMapping
     }
 
-    private inline fun <reified T: Mapping> filterMappings(
-        matcher: (m: T) -> Boolean, mappings: List<Mapping>): List<Mapping> {
+    private inline fun <T> findEndpoint(info: SchemaInfo, find: (m: IndexedMappings) -> T?): T? {
+        val ep = index.getEndpoint(info.getPath(), info.getMethod())
+        if (ep != null) {
+            val match = find(ep.mappings)
+            if (match != null)
+                return match
+        }
 
-        return mappings
-            .filterIsInstance<T>()
-            .filter { matcher(it) }
-            .map { it.getChildMappings() }
-            .flatten()
+        val epAll = index.getEndpoint(info.getPath(), null) ?: return null
+        return find(epAll.mappings)
     }
 
 }
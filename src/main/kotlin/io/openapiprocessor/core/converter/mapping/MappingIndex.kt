@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter.mapping
+
+import io.openapiprocessor.core.model.HttpMethod
+
+/**
+ * lookup index of the type mapping list. It is created once from
+ * [io.openapiprocessor.core.converter.ApiOptions.typeMappings] and used by the mapping finders
+ * instead of scanning the whole mapping list on each lookup.
+ */
+class MappingIndex(typeMappings: List<Mapping> = emptyList()) {
+
+    /**
+     * the mappings of an endpoint, i.e. of all endpoint mappings with the same path & method.
+     */
+    class Endpoint(
+
+        /**
+         * exclude value of the first endpoint mapping.
+         */
+        val exclude: Boolean,
+
+        /**
+         * the child mappings of all endpoint mappings.
+         */
+        val mappings: IndexedMappings
+    )
+
+    private data class EndpointKey(val path: String, val method: HttpMethod?)
+
+    /**
+     * the global mappings.
+     */
+    val global: IndexedMappings = IndexedMappings(typeMappings)
+
+    private val endpoints: Map<EndpointKey, Endpoint>
+
+    init {
+        val grouped = LinkedHashMap<EndpointKey, MutableList<EndpointTypeMapping>>()
+        typeMappings
+            .filterIsInstance<EndpointTypeMapping>()
+            .forEach {
+                grouped.getOrPut(EndpointKey(it.path, it.method)) { mutableListOf() }.add(it)
+            }
+
+        endpoints = grouped.mapValues { (_, mappings) ->
+            Endpoint(
+                mappings.first().exclude,
+                IndexedMappings(mappings.map { it.getChildMappings() }.flatten()))
+        }
+    }
+
+    /**
+     * true if there are endpoint mappings.
+     */
+    val hasEndpoints: Boolean
+        get() = endpoints.isNotEmpty()
+
+    /**
+     * get the endpoint mappings of the given path & method. A null method selects the endpoint
+     * mappings without method, i.e. the mappings that apply to all methods.
+     *
+     * @param path the endpoint path
+     * @param method the http method or null
+     * @return the endpoint mappings or null if there are none
+     */
+    fun getEndpoint(path: String, method: HttpMethod?): Endpoint? {
+        return endpoints[EndpointKey(path, method)]
+    }
+
+}
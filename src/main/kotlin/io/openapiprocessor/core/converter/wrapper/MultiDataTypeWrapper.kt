@@ -20,7 +20,7 @@ import io.openapiprocessor.core.model.datatypes.MappedCollectionDataType
  */
 class MultiDataTypeWrapper(
     private val options: ApiOptions,
-    private val finder: MappingFinder = MappingFinder(options.typeMappings)
+    private val finder: MappingFinder = MappingFinder(options.mappingIndex)
 ) {
 
     /**
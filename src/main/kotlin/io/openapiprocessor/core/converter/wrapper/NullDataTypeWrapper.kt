@@ -17,7 +17,7 @@ import io.openapiprocessor.core.model.datatypes.NullDataType
  */
 open class NullDataTypeWrapper(
     private val options: ApiOptions,
-    private val finder: MappingFinder = MappingFinder(options.typeMappings)
+    private val finder: MappingFinder = MappingFinder(options.mappingIndex)
 ) {
 
     /**
@@ -17,7 +17,7 @@ import io.openapiprocessor.core.model.datatypes.ResultDataType
  */
 class ResultDataTypeWrapper(
     private val options: ApiOptions,
-    private val finder: MappingFinder = MappingFinder(options.typeMappings)
+    private val finder: MappingFinder = MappingFinder(options.mappingIndex)
 ) {
 
     /**
@@ -19,7 +19,7 @@ import io.openapiprocessor.core.model.datatypes.SingleDataType
  */
 class SingleDataTypeWrapper(
     private val options: ApiOptions,
-    private val finder: MappingFinder = MappingFinder(options.typeMappings)
+    private val finder: MappingFinder = MappingFinder(options.mappingIndex)
 ) {
 
     /**
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics
+
+/**
+ * the costs of a phase, or the sum of the costs if [count] is greater than 1.
+ */
+class Measurement(
+
+    /**
+     * name of the phase.
+     */
+    val phase: String,
+
+    /**
+     * the generated file (relative to the target folder) or null if the phase is not file
+     * specific.
+     */
+    val file: String?,
+
+    /**
+     * number of measurements.
+     */
+    val count: Int,
+
+    /**
+     * wall time in nanoseconds.
+     */
+    val wallTime: Long,
+
+    /**
+     * cpu time in nanoseconds, -1 if the jvm does not support it.
+     */
+    val cpuTime: Long,
+
+    /**
+     * allocated bytes, -1 if the jvm does not support it.
+     */
+    val allocatedBytes: Long
+) {
+
+    /**
+     * sum of this and the given measurement.
+     */
+    operator fun plus(other: Measurement): Measurement {
+        return Measurement(
+            phase,
+            if (file == other.file) file else null,
+            count + other.count,
+            wallTime + other.wallTime,
+            sum(cpuTime, other.cpuTime),
+            sum(allocatedBytes, other.allocatedBytes))
+    }
+
+    private fun sum(value: Long, other: Long): Long {
+        if (value < 0 || other < 0)
+            return -1
+
+        return value + other
+    }
+}
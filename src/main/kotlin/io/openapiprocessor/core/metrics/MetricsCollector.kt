@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.lang.management.ManagementFactory
+import java.lang.management.ThreadMXBean
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.Locale
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * collects the wall time, cpu time and allocated bytes of the processing phases and of each
+ * generated file. The cpu time and allocated bytes are measured for the current thread with
+ * [ThreadMXBean].
+ *
+ * core measures the mapping, convert and write phases and the render, format & io steps of each
+ * file. Processors (and frameworks) can add their own phases by calling [measure], e.g. the
+ * parse phase:
+ *
+ * ```
+ * val openapi = options.metricsCollector.measure(MetricsCollector.PARSE) {
+ *     parser.parse(processorOptions)
+ * }
+ * ```
+ *
+ * If the collector is disabled, [measure] only runs the phase. A processing run ends with [finish]
+ * (i.e. after reporting the metrics), the first measurement of the next run drops the measurements
+ * of the finished run. A collector that is used for many runs (e.g. by a long-lived
+ * [io.openapiprocessor.core.converter.ApiOptions])
+ * does not grow.
+ *
+ * It is thread-safe.
+ *
+ * @param enabled true if the metrics are collected, it is checked on each [measure]
+ */
+class MetricsCollector(private val enabled: () -> Boolean = { true }) {
+    private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+
+    private val threads: ThreadMXBean = ManagementFactory.getThreadMXBean()
+    private val measurements = ConcurrentLinkedQueue<Measurement>()
+    private val finished = AtomicBoolean(false)
+
+    /**
+     * run and measure the given phase. If the collector is disabled, it only runs the phase.
+     *
+     * @param phase name of the phase
+     * @param file the generated file if the phase is file specific
+     * @param block the phase
+     * @return the result of the phase
+     */
+    fun <T> measure(phase: String, file: String? = null, block: () -> T): T {
+        if (!enabled())
+            return block()
+
+        return run(phase, file, block)
+    }
+
+    /**
+     * run and measure the phase that enables (or disables) the collector, i.e. reading the
+     * mapping. The measurement is kept if the collector is enabled after running the phase.
+     *
+     * @param phase name of the phase
+     * @param block the phase
+     * @return the result of the phase
+     */
+    fun <T> measureEnabling(phase: String, block: () -> T): T {
+        return run(phase, null, block)
+    }
+
+    /**
+     * end the current run. The next measurement starts a new run and drops the measurements of
+     * this run.
+     */
+    fun finish() {
+        finished.set(true)
+    }
+
+    /**
+     * drop all measurements.
+     */
+    fun clear() {
+        measurements.clear()
+        finished.set(false)
+    }
+
+    private fun <T> run(phase: String, file: String?, block: () -> T): T {
+        if (finished.compareAndSet(true, false)) {
+            measurements.clear()
+        }
+
+        val wallStart = System.nanoTime()
+        val cpuStart = getCpuTime()
+        val allocatedStart = getAllocatedBytes()
+
+        try {
+            return block()
+        } finally {
+            val wallTime = System.nanoTime() - wallStart
+            val cpuTime = diff(cpuStart, getCpuTime())
+            val allocated = diff(allocatedStart, getAllocatedBytes())
+
+            if (enabled()) {
+                measurements.add(Measurement(phase, file, 1, wallTime, cpuTime, allocated))
+            }
+        }
+    }
+
+    /**
+     * all measurements in completion order.
+     */
+    val all: List<Measurement>
+        get() = measurements.toList()
+
+    /**
+     * the sum of the measurements by phase, in the order of the first measurement of a phase.
+     * Steps that run in parallel (e.g. the file steps of a parallel write) add up, i.e. their
+     * sum can be larger than the wall time of the enclosing phase.
+     */
+    val phases: List<Measurement>
+        get() {
+            val phases = linkedMapOf<String, Measurement>()
+            measurements.forEach { m ->
+                phases.merge(m.phase, m) { sum, next -> sum + next }
+            }
+            return phases.values.toList()
+        }
+
+    /**
+     * the sum of the file specific measurements by file.
+     */
+    val files: List<Measurement>
+        get() {
+            val files = linkedMapOf<String, Measurement>()
+            measurements
+                .filter { it.file != null }
+                .forEach { m ->
+                    val file = Measurement(FILE, m.file, 1, m.wallTime, m.cpuTime, m.allocatedBytes)
+                    files.merge(m.file!!, file) { sum, next -> sum + next }
+                }
+            return files.values.toList()
+        }
+
+    /**
+     * log the phase summary at info level.
+     */
+    fun log() {
+        log.info("metrics (count, wall time, cpu time, allocated):")
+        phases.forEach {
+            log.info("  {}: {}x, {} ms, {} ms, {}",
+                it.phase, it.count, toMillis(it.wallTime), toMillis(it.cpuTime), toMegaBytes(it.allocatedBytes))
+        }
+    }
+
+    /**
+     * write the phase summary and the file measurements as json.
+     *
+     * @param target the json file
+     */
+    fun write(target: Path) {
+        val json = linkedMapOf(
+            "phases" to phases.map { toMap(it) },
+            "files" to files.map { toMap(it) }
+        )
+
+        Files.createDirectories(target.parent)
+        Files.write(target, ObjectMapper()
+            .writerWithDefaultPrettyPrinter()
+            .writeValueAsBytes(json))
+    }
+
+    private fun toMap(measurement: Measurement): Map<String, Any?> {
+        val map = linkedMapOf<String, Any?>()
+        if (measurement.file != null) {
+            map["file"] = measurement.file
+        } else {
+            map["phase"] = measurement.phase
+            map["count"] = measurement.count
+        }
+        map["wallTimeNanos"] = measurement.wallTime
+        map["cpuTimeNanos"] = measurement.cpuTime
+        map["allocatedBytes"] = measurement.allocatedBytes
+        return map
+    }
+
+    private fun getCpuTime(): Long {
+        if (!threads.isCurrentThreadCpuTimeSupported || !threads.isThreadCpuTimeEnabled)
+            return -1
+
+        return threads.currentThreadCpuTime
+    }
+
+    private fun getAllocatedBytes(): Long {
+        val sun = threads as? com.sun.management.ThreadMXBean ?: return -1
+        if (!sun.isThreadAllocatedMemorySupported || !sun.isThreadAllocatedMemoryEnabled)
+            return -1
+
+        return sun.getThreadAllocatedBytes(Thread.currentThread().id)
+    }
+
+    private fun diff(start: Long, end: Long): Long {
+        if (start < 0 || end < 0)
+            return -1
+
+        return end - start
+    }
+
+    private fun toMillis(nanos: Long): String {
+        if (nanos < 0)
+            return "-"
+
+        return (nanos / 1_000_000).toString()
+    }
+
+    private fun toMegaBytes(bytes: Long): String {
+        if (bytes < 0)
+            return "-"
+
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0))
+    }
+
+    companion object {
+        /** reading the mapping.yaml. */
+        const val MAPPING = "mapping"
+        /** parsing the OpenAPI document. */
+        const val PARSE = "parse"
+        /** converting the OpenAPI model to the java model. */
+        const val CONVERT = "convert"
+        /** writing all source files. */
+        const val WRITE = "write"
+        /** rendering a source file. */
+        const val RENDER = "render"
+        /** formatting a source file. */
+        const val FORMAT = "format"
+        /** writing a source file to disk. */
+        const val IO = "io"
+        /** all steps of a source file. */
+        const val FILE = "file"
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+
+/**
+ * JFR event: converting an endpoint.
+ */
+@Name("io.openapiprocessor.Endpoint")
+@Label("Convert Endpoint")
+@Description("converting an OpenAPI operation to an endpoint")
+@Category(CATEGORY)
+@StackTrace(false)
+class EndpointEvent: Event() {
+
+    @field:Label("Path")
+    var path: String? = null
+
+    @field:Label("Method")
+    var method: String? = null
+
+    @field:Label("Data Types")
+    @field:Description("number of data types created by the endpoint")
+    var dataTypes: Int = 0
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import java.util.concurrent.atomic.AtomicLong
+
+/** JFR category of the processor events. */
+const val CATEGORY = "openapi-processor"
+
+/** the mapping lookups are sampled, one [MappingLookupEvent] per n lookups. */
+const val LOOKUP_SAMPLES = 64L
+
+/**
+ * creates the processor JFR (Java Flight Recorder) events.
+ *
+ * The events cost nothing if there is no recording: an event is only created if the JVM has JFR
+ * and the event is enabled. Without recording the JIT removes the (not escaping) event object.
+ * On a JVM without JFR (i.e. Java 8 before 8u262) the event classes are never loaded.
+ *
+ * Callers only use an event by its own type (never as `jdk.jfr.Event`), i.e. verifying a caller
+ * does not load the event classes.
+ */
+object Jfr {
+
+    /**
+     * true if the JVM has JFR.
+     */
+    @JvmField
+    val available: Boolean = isAvailable()
+
+    @PublishedApi
+    internal val lookups = AtomicLong()
+
+    /**
+     * record parsing the OpenAPI document.
+     */
+    inline fun <T> measureParse(parser: String, document: String, block: () -> T): T {
+        if (!available)
+            return block()
+
+        val event = ParseEvent()
+        if (!event.isEnabled)
+            return block()
+
+        event.parser = parser
+        event.document = document
+        event.begin()
+        try {
+            return block()
+        } finally {
+            event.commit()
+        }
+    }
+
+    /**
+     * record reading or validating the mapping.
+     */
+    inline fun <T> measureMapping(step: String, block: () -> T): T {
+        if (!available)
+            return block()
+
+        val event = MappingEvent()
+        if (!event.isEnabled)
+            return block()
+
+        event.step = step
+        event.begin()
+        try {
+            return block()
+        } finally {
+            event.commit()
+        }
+    }
+
+    /**
+     * record converting an endpoint.
+     *
+     * @param created returns the number of data types created so far
+     */
+    inline fun <T> measureEndpoint(path: String, method: String, created: () -> Int, block: () -> T): T {
+        if (!available)
+            return block()
+
+        val event = EndpointEvent()
+        if (!event.isEnabled)
+            return block()
+
+        val start = created()
+        event.path = path
+        event.method = method
+        event.begin()
+        try {
+            return block()
+        } finally {
+            event.dataTypes = created() - start
+            event.commit()
+        }
+    }
+
+    /**
+     * record (a sample of) a mapping lookup.
+     *
+     * @param lookup the lookup type, endpoint, io or type
+     * @param path provides the endpoint path, only called for a sample
+     * @param schema provides the schema name, only called for a sample
+     */
+    inline fun <T> measureLookup(lookup: String, path: () -> String, schema: () -> String, block: () -> T?): T? {
+        if (!available)
+            return block()
+
+        val event = MappingLookupEvent()
+        if (!event.isEnabled)
+            return block()
+
+        if (lookups.incrementAndGet() % LOOKUP_SAMPLES != 0L)
+            return block()
+
+        event.begin()
+        val result = block()
+        event.lookup = lookup
+        event.path = path()
+        event.schema = schema()
+        event.found = result != null
+        event.lookups = LOOKUP_SAMPLES
+        event.commit()
+        return result
+    }
+
+    /**
+     * start recording a source file.
+     *
+     * @param file the source file
+     * @return the event, or null if there is no recording
+     */
+    fun beginSourceFile(file: String): SourceFileEvent? {
+        if (!available)
+            return null
+
+        val event = SourceFileEvent()
+        if (!event.isEnabled)
+            return null
+
+        event.file = file
+        event.begin()
+        return event
+    }
+
+    private fun isAvailable(): Boolean {
+        return try {
+            Class.forName("jdk.jfr.Event")
+            true
+        } catch (e: ClassNotFoundException) {
+            false
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+
+/**
+ * JFR event: reading or validating the mapping.
+ */
+@Name("io.openapiprocessor.Mapping")
+@Label("Mapping")
+@Description("reading or validating the mapping")
+@Category(CATEGORY)
+@StackTrace(false)
+class MappingEvent: Event() {
+
+    @field:Label("Step")
+    @field:Description("read or validate")
+    var step: String? = null
+
+}
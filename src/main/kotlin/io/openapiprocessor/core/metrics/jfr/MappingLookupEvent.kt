@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+
+/**
+ * JFR event: a sampled mapping lookup. There is one event per [LOOKUP_SAMPLES] lookups, i.e.
+ * the sum of [lookups] is the number of lookups.
+ */
+@Name("io.openapiprocessor.MappingLookup")
+@Label("Mapping Lookup")
+@Description("a sampled type mapping lookup")
+@Category(CATEGORY)
+@StackTrace(false)
+class MappingLookupEvent: Event() {
+
+    @field:Label("Lookup")
+    @field:Description("endpoint, io or type")
+    var lookup: String? = null
+
+    @field:Label("Path")
+    var path: String? = null
+
+    @field:Label("Schema")
+    var schema: String? = null
+
+    @field:Label("Found")
+    var found: Boolean = false
+
+    @field:Label("Lookups")
+    @field:Description("number of lookups represented by this sample")
+    var lookups: Long = 0
+
+}
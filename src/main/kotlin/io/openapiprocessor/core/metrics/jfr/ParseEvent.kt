@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+
+/**
+ * JFR event: parsing the OpenAPI document.
+ */
+@Name("io.openapiprocessor.Parse")
+@Label("Parse OpenAPI")
+@Description("parsing the OpenAPI document")
+@Category(CATEGORY)
+@StackTrace(false)
+class ParseEvent: Event() {
+
+    @field:Label("Parser")
+    var parser: String? = null
+
+    @field:Label("Document")
+    var document: String? = null
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import jdk.jfr.Category
+import jdk.jfr.DataAmount
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+import jdk.jfr.Timespan
+
+/**
+ * JFR event: rendering, formatting and writing a source file. The event duration covers all
+ * steps, the step durations are separate fields.
+ */
+@Name("io.openapiprocessor.SourceFile")
+@Label("Source File")
+@Description("rendering, formatting and writing a generated source file")
+@Category(CATEGORY)
+@StackTrace(false)
+class SourceFileEvent: Event() {
+
+    @field:Label("File")
+    var file: String? = null
+
+    @field:Label("Bytes")
+    @field:DataAmount
+    var bytes: Long = 0
+
+    @field:Label("Formatted")
+    var formatted: Boolean = false
+
+    @field:Label("Render Time")
+    @field:Timespan
+    var renderTime: Long = 0
+
+    @field:Label("Format Time")
+    @field:Timespan
+    var formatTime: Long = 0
+
+    @field:Label("Write Time")
+    @field:Timespan
+    var writeTime: Long = 0
+
+    @Transient
+    private var last: Long = System.nanoTime()
+
+    /**
+     * the source is rendered.
+     */
+    fun rendered() {
+        renderTime = next()
+    }
+
+    /**
+     * the source is formatted (if enabled).
+     */
+    fun formatted(formatted: Boolean) {
+        this.formatted = formatted
+        formatTime = next()
+    }
+
+    /**
+     * the source is written, commits the event.
+     */
+    fun written(bytes: Long) {
+        this.bytes = bytes
+        writeTime = next()
+        commit()
+    }
+
+    private fun next(): Long {
+        val now = System.nanoTime()
+        val time = now - last
+        last = now
+        return time
+    }
+
+}
@@ -6,26 +6,41 @@
 package io.openapiprocessor.core.model
 
 import io.openapiprocessor.core.model.datatypes.*
+import java.util.Collections
+import java.util.IdentityHashMap
 
 /**
  * ref counts used model data types honoring data type mappings to generate only required (used)
  * classes.
+ *
+ * A data type graph is usually not a tree (shared named types), i.e. [collect] expands each data
+ * type only once. A data type that is used by the collected data type gets at least one ref.
  */
 class DataTypeCollector(
     private val dataTypes: DataTypes, private val generatedPackageName: String) {
 
+    /**
+     * ref count the data types used by [dataType].
+     */
     fun collect(dataType: DataType) {
+        collect(dataType, Collections.newSetFromMap(IdentityHashMap()))
+    }
+
+    private fun collect(dataType: DataType, visited: MutableSet<DataType>) {
+        if (!visited.add(dataType))
+            return
+
         when (dataType) {
             is ArrayDataType -> {
-                collect(dataType.item)
+                collect(dataType.item, visited)
             }
             is MappedCollectionDataType -> {
-                collect(dataType.item)
+                collect(dataType.item, visited)
             }
             is ObjectDataType -> {
                 dataTypes.addRef(dataType.getName())
                 dataType.forEach { _, propDataType ->
-                    collect(propDataType)
+                    collect(propDataType, visited)
                 }
             }
             is MappedDataType -> {
@@ -35,31 +50,31 @@ class DataTypeCollector(
                         val name = it.id.substringAfterLast(".")
                         val found = dataTypes.find(name)
                         if (found != null) {
-                            collect(found)
+                            collect(found, visited)
                         }
                     }
             }
             is AllOfObjectDataType -> {
                 dataTypes.addRef(dataType.getName())
                 dataType.forEach { _, propDataType ->
-                    collect(propDataType)
+                    collect(propDataType, visited)
                 }
             }
             is AnyOneOfObjectDataType -> {
                 dataType.forEach { ofDataType ->
-                    collect(ofDataType)
+                    collect(ofDataType, visited)
                 }
             }
             is StringEnumDataType -> {
                 dataTypes.addRef(dataType.getName())
             }
             is PropertyDataType -> {
-                collect(dataType.dataType)
+                collect(dataType.dataType, visited)
             }
             is InterfaceDataType -> {
                 dataTypes.addRef(dataType.getName())
                 dataType.items.forEach {
-                    collect(it)
+                    collect(it, visited)
                 }
             }
         }
@@ -8,22 +8,48 @@ package io.openapiprocessor.core.model
 import io.openapiprocessor.core.model.datatypes.*
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 
 /**
  * Container of data types from OpenAPI '#/component/schemas'.
+ *
+ * It is thread-safe, i.e. parallel conversion tasks can register and ref count the data types.
+ * Each task uses its own view (see [createTask]) that tracks the order the task registered the
+ * data types to restore the order of a sequential conversion (see [merge]).
  */
-class DataTypes {
+class DataTypes private constructor(
+    private val dataTypeInfos: ConcurrentHashMap<String, DataTypeInfo>,
+    private val sequence: AtomicLong,
+    private val task: Task?
+) {
     private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+    private val createdCount = AtomicInteger()
+    private val aliases = ConcurrentHashMap<String, Set<String>>()
 
-    class DataTypeInfo(val dataType: DataType, var refCount: Long = 0) {
+    constructor(): this(ConcurrentHashMap(), AtomicLong(), null)
 
-        fun addRef() {
-            refCount++
+    class DataTypeInfo(val dataType: DataType, refCount: Long = 0, val order: Long = 0) {
+        private val refs = AtomicLong(refCount)
+
+        val refCount: Long
+            get() = refs.get()
+
+        fun addRef(): Long {
+            return refs.incrementAndGet()
         }
 
     }
 
-    private val dataTypeInfos: MutableMap<String, DataTypeInfo> = mutableMapOf()
+    /**
+     * the data type names a conversion task registered (or found at a registration point) and
+     * deleted, in task order.
+     */
+    private class Task {
+        val registered = mutableListOf<String>()
+        val deleted = mutableListOf<String>()
+    }
 
     /** test only
      * provides all named data types (including simple data types) used by the api endpoint.
@@ -31,7 +57,7 @@ class DataTypes {
      * @return list of data types
      */
     fun getDataTypes(): Collection<DataType> {
-        return dataTypeInfos.values
+        return infos()
             .filter { it.dataType !is MappedDataType }
             .map { it.dataType }
     }
@@ -43,7 +69,7 @@ class DataTypes {
      * @return list of object data types
      */
     fun getModelDataTypes(): Collection<ModelDataType> {
-        return dataTypeInfos.values
+        return infos()
             .filter { it.dataType is ModelDataType }
             .filter { it.refCount > 0 }
             .map { it.dataType as ModelDataType }
@@ -56,7 +82,7 @@ class DataTypes {
      * @return list of enum data types
      */
     fun getEnumDataTypes(): Collection<StringEnumDataType> {
-        return dataTypeInfos.values
+        return infos()
             .filter { it.dataType is StringEnumDataType }
             .filter { it.refCount > 0 }
             .map { it.dataType as StringEnumDataType }
@@ -69,7 +95,7 @@ class DataTypes {
      * @return list of object data types
      */
     fun getInterfaceDataTypes(): Collection<InterfaceDataType> {
-        return dataTypeInfos.values
+        return infos()
             .filter { it.dataType is InterfaceDataType }
             .filter { it.refCount > 0 }
             .map { it.dataType as InterfaceDataType }
@@ -91,7 +117,31 @@ class DataTypes {
      * @param dataType the source data type
      */
     fun add(name: String, dataType: DataType) {
-        dataTypeInfos[name] = DataTypeInfo(dataType)
+        task?.registered?.add(name)
+        dataTypeInfos.compute(name) { _, info ->
+            if (info == null)
+                createdCount.incrementAndGet()
+
+            DataTypeInfo(dataType, order = info?.order ?: sequence.getAndIncrement())
+        }
+    }
+
+    /**
+     * get the data type with the given name or create and remember it if it is unknown. The data
+     * type is created exactly once, even if parallel tasks ask for the same name.
+     *
+     * [create] runs while the name is locked, it should only create the data type.
+     *
+     * @param name name of the data type
+     * @param create creates the data type
+     * @return the known or the new data type
+     */
+    fun getOrAdd(name: String, create: () -> DataType): DataType {
+        task?.registered?.add(name)
+        return dataTypeInfos.computeIfAbsent(name) {
+            createdCount.incrementAndGet()
+            DataTypeInfo(create(), order = sequence.getAndIncrement())
+        }.dataType
     }
 
     /**
@@ -100,7 +150,47 @@ class DataTypes {
      * @param dataType the source data type
      */
     fun del(dataType: DataType) {
+        task?.deleted?.add(dataType.getName())
         dataTypeInfos.remove (dataType.getName())
+        aliases.remove(dataType.getName())
+    }
+
+    /**
+     * remove all data types.
+     */
+    fun clear() {
+        dataTypeInfos.clear()
+        aliases.clear()
+        sequence.set(0)
+        createdCount.set(0)
+    }
+
+    /**
+     * remember that the (inline) schema [alias] is equal to the schema of the data type [name],
+     * i.e. it uses the data type instead of its own data type.
+     *
+     * @param name name of the data type
+     * @param alias name of the equal (inline) schema
+     */
+    fun addAlias(name: String, alias: String) {
+        aliases.merge(name, setOf(alias)) { known, added -> known + added }
+    }
+
+    /**
+     * the alias names of a data type, in the order they were added.
+     *
+     * @param name name of the data type
+     * @return the alias names or an empty set
+     */
+    fun getAliases(name: String): Set<String> {
+        return aliases[name] ?: emptySet()
+    }
+
+    /**
+     * the alias names of all data types by data type name.
+     */
+    fun getAliases(): Map<String, Set<String>> {
+        return aliases.toMap()
     }
 
     /**
@@ -125,13 +215,20 @@ class DataTypes {
             return
         }
 
-        info.addRef()
-        log.debug("ref {} {}", name, info.refCount)
+        val count = info.addRef()
+        log.debug("ref {} {}", name, count)
     }
 
     val size: Int
         get() = dataTypeInfos.size
 
+    /**
+     * the number of data types created (i.e. registered for the first time) by this instance. A
+     * task view only counts the data types created by its task.
+     */
+    val created: Int
+        get() = createdCount.get()
+
     /**
      * test.
      */
@@ -139,13 +236,74 @@ class DataTypes {
         return dataTypeInfos[name]?.refCount!!
     }
 
+    /**
+     * create a view of the data types for a parallel conversion task. The view shares the data
+     * types and tracks the order the task registers them.
+     *
+     * @return the task view
+     */
+    fun createTask(): DataTypes {
+        return DataTypes(dataTypeInfos, sequence, Task())
+    }
+
+    /**
+     * restore the order of a sequential conversion after a parallel conversion, i.e. order the
+     * data types as if the tasks had run one after the other in the given order.
+     *
+     * The order of a sequential conversion is the order of the first registration of each data
+     * type. Because a task registers the data types in the same order as a sequential run, the
+     * first task that registered a data type is the task that would have created it.
+     *
+     * @param tasks the task views in sequential order
+     * @return false if the result depends on the task order, i.e. if a task deleted a data type
+     * that is registered by another task
+     */
+    fun merge(tasks: List<DataTypes>): Boolean {
+        val deleted = tasks.flatMap { it.task!!.deleted }.toSet()
+        if (deleted.isNotEmpty()) {
+            val users = HashMap<String, Int>()
+            tasks.forEach { view ->
+                view.task!!.registered
+                    .filter { it in deleted }
+                    .toSet()
+                    .forEach { users.merge(it, 1, Int::plus) }
+            }
+
+            if (users.values.any { it > 1 })
+                return false
+        }
+
+        val registered = LinkedHashSet<String>()
+        tasks.forEach { registered.addAll(it.task!!.registered) }
+
+        // keep the data types that were registered before the tasks in front
+        val names = dataTypeInfos.entries
+            .filter { it.key !in registered }
+            .sortedBy { it.value.order }
+            .map { it.key }
+            .plus(registered)
+
+        var order = 0L
+        names.forEach { name ->
+            dataTypeInfos.computeIfPresent(name) { _, info ->
+                DataTypeInfo(info.dataType, info.refCount, order++)
+            }
+        }
+        sequence.set(order)
+        return true
+    }
+
     /**
      * debug.
      */
     fun print() {
-        dataTypeInfos.forEach {
-            println("${it.key} (${it.value.dataType.getPackageName()}) ${it.value.refCount}")
+        infos().forEach {
+            println("${it.dataType.getName()} (${it.dataType.getPackageName()}) ${it.refCount}")
         }
     }
 
+    private fun infos(): List<DataTypeInfo> {
+        return dataTypeInfos.values.sortedBy { it.order }
+    }
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser
+
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * memoizing $ref resolver. It resolves a `$ref` once and then returns the same [NamedSchema]
+ * instance for it. It is thread safe, i.e. it can be used by the parallel endpoint conversion.
+ *
+ * The cache key is provided by the parser adapter: the `$ref` string, plus the base document if
+ * the `$ref` is relative. If the adapter can't provide a unique key (i.e. [key] returns null)
+ * the `$ref` is resolved on each call.
+ */
+class CachingRefResolver(
+    private val resolver: RefResolver,
+    private val key: (ref: Schema) -> String? = { it.getRef() }
+): RefResolver {
+    private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+
+    private val resolved = ConcurrentHashMap<String, NamedSchema>()
+    private val hitCount = AtomicLong()
+    private val missCount = AtomicLong()
+
+    val hits: Long
+        get() = hitCount.get()
+
+    val misses: Long
+        get() = missCount.get()
+
+    override fun resolve(ref: Schema): NamedSchema {
+        val key = key(ref)
+        if (key == null) {
+            missCount.incrementAndGet()
+            return resolver.resolve(ref)
+        }
+
+        val cached = resolved[key]
+        if (cached != null) {
+            hitCount.incrementAndGet()
+            return cached
+        }
+
+        missCount.incrementAndGet()
+
+        // a concurrent resolve of the same $ref may win, return the winner
+        val schema = resolver.resolve(ref)
+        return resolved.putIfAbsent(key, schema) ?: schema
+    }
+
+    /**
+     * the unique key of the `$ref`, i.e. the same key always resolves to the same schema.
+     *
+     * @param ref the `$ref` schema
+     * @return the key, or null if the parser adapter can't provide a unique key
+     */
+    fun getKey(ref: Schema): String? {
+        return key(ref)
+    }
+
+    /**
+     * log the hit & miss counts.
+     */
+    fun logStatistics() {
+        log.debug("\$ref resolver: {} hits, {} misses, {} cached", hits, misses, resolved.size)
+    }
+}
+
+/**
+ * the cache key of a `$ref` string that does not depend on the document it is used in, i.e. an
+ * absolute `$ref` (with scheme). Relative `$ref`s (including local `#/...` ones) are relative to
+ * the document that contains them.
+ */
+fun absoluteRefKey(ref: Schema): String? {
+    val value = ref.getRef() ?: return null
+    val hash = value.indexOf('#')
+    val colon = value.indexOf(':')
+    if (colon < 0 || (hash in 0 until colon))
+        return null
+
+    return value
+}
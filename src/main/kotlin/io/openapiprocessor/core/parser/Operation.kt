@@ -25,5 +25,6 @@ interface Operation {
     val description: String?
 
     fun getFirstTag(): String?
+    fun getTags(): List<String>
 
 }
@@ -8,37 +8,49 @@ package io.openapiprocessor.core.parser
 import io.openapiprocessor.core.parser.swagger.Parser as Swagger
 import io.openapiprocessor.core.parser.openapi.Parser as OpenApiParser
 import io.openapiprocessor.core.parser.openapi4j.Parser as OpenApi4J
+import io.openapiprocessor.core.metrics.jfr.Jfr
+import io.openapiprocessor.core.support.measureLoading
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
 /**
  * OpenAPI parser abstraction. Supports swagger or openapi4 parser.
+ *
+ * Only the selected parser is loaded. The parsers are referenced in their own branch only, i.e.
+ * the JVM does not load the other parsers.
  */
 class Parser {
     private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
 
     fun parse(processorOptions: Map<String, *>): OpenApi {
         val apiPath: String = processorOptions["apiPath"]?.toString() ?: throw NoOpenApiException()
+        val parser = processorOptions["parser"]?.toString()
 
-        when(val parser = processorOptions["parser"]?.toString()) {
+        return Jfr.measureParse(parser ?: ParserType.SWAGGER.name, apiPath) {
+            parse(apiPath, parser)
+        }
+    }
+
+    private fun parse(apiPath: String, parser: String?): OpenApi {
+        when(parser) {
             ParserType.SWAGGER.name -> {
                 log.info("using SWAGGER parser")
-                return Swagger().parse(apiPath)
+                return measureLoading(log, "SWAGGER parser") { Swagger().parse(apiPath) }
             }
             ParserType.OPENAPI4J.name -> {
                 log.info("using (deprecated) OPENAPI4J parser")
-                return OpenApi4J().parse(apiPath)
+                return measureLoading(log, "OPENAPI4J parser") { OpenApi4J().parse(apiPath) }
             }
             ParserType.INTERNAL.name -> {
                 log.info("using INTERNAL parser")
-                return OpenApiParser().parse(apiPath)
+                return measureLoading(log, "INTERNAL parser") { OpenApiParser().parse(apiPath) }
             }
             else -> {
                 if (parser != null) {
                     log.warn("unknown parser type: {}", parser)
                     log.warn("available parsers: SWAGGER, OPENAPI4J, INTERNAL")
                 }
-                return Swagger().parse(apiPath)
+                return measureLoading(log, "SWAGGER parser") { Swagger().parse(apiPath) }
             }
         }
     }
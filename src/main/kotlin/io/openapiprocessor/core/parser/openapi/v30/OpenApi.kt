@@ -5,7 +5,9 @@
 
 package io.openapiprocessor.core.parser.openapi.v30
 
+import io.openapiprocessor.core.parser.CachingRefResolver
 import io.openapiprocessor.core.parser.Path
+import io.openapiprocessor.core.parser.absoluteRefKey
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import io.openapiparser.model.v30.OpenApi as OpenApi30
@@ -23,6 +25,9 @@ open class OpenApi(
 ): ParserOpenApi {
     private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
 
+    // the schema model does not provide its base document, i.e. only absolute $refs are unique
+    private val refResolver = CachingRefResolver(RefResolver(api), ::absoluteRefKey)
+
     override fun getPaths(): Map<String, Path> {
         val paths = linkedMapOf<String, Path>()
 
@@ -37,7 +42,7 @@ open class OpenApi(
         return paths
     }
 
-    override fun getRefResolver(): ParserRefResolver = RefResolver(api)
+    override fun getRefResolver(): ParserRefResolver = refResolver
 
     override fun printWarnings() {
     }
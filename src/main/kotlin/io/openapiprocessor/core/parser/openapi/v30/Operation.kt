@@ -81,4 +81,6 @@ class Operation(
     override val description: String? = operation.description
 
     override fun getFirstTag(): String? = if (hasTags()) operation.tags.first() else null
+
+    override fun getTags(): List<String> = operation.tags
 }
@@ -7,7 +7,9 @@ package io.openapiprocessor.core.parser.openapi.v31
 
 import io.openapiparser.model.v31.OpenApi as OpenApi31
 import io.openapiparser.model.v31.PathItem as PathItem31
+import io.openapiprocessor.core.parser.CachingRefResolver
 import io.openapiprocessor.core.parser.Path
+import io.openapiprocessor.core.parser.absoluteRefKey
 import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -19,6 +21,9 @@ class OpenApi(
 ) : ParserOpenApi {
     private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
 
+    // the schema model does not provide its base document, i.e. only absolute $refs are unique
+    private val refResolver = CachingRefResolver(RefResolver(api), ::absoluteRefKey)
+
     override fun getPaths(): Map<String, Path> {
         val paths = linkedMapOf<String, Path>()
 
@@ -33,7 +38,7 @@ class OpenApi(
         return paths
     }
 
-    override fun getRefResolver(): ParserRefResolver = RefResolver(api)
+    override fun getRefResolver(): ParserRefResolver = refResolver
 
     override fun printWarnings() {
     }
@@ -82,4 +82,6 @@ class Operation(
 
     override fun getFirstTag(): String? = if (hasTags()) operation.tags.first () else null
 
+    override fun getTags(): List<String> = operation.tags
+
 }
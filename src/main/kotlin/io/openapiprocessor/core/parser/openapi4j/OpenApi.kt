@@ -5,6 +5,7 @@
 
 package io.openapiprocessor.core.parser.openapi4j
 
+import io.openapiprocessor.core.parser.CachingRefResolver
 import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
 import io.openapiprocessor.core.parser.Path as ParserPath
 import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
@@ -25,6 +26,11 @@ class OpenApi(
 
     private val refResolver: RefResolverNative = RefResolverNative(api)
 
+    // the canonical $ref is absolute, i.e. it includes the base document of a relative $ref
+    private val schemaResolver = CachingRefResolver(RefResolver(api)) {
+        (it as Schema).schema.canonicalRef
+    }
+
     override fun getPaths(): Map<String, ParserPath> {
         val paths = linkedMapOf<String, ParserPath>()
 
@@ -40,7 +46,7 @@ class OpenApi(
         return paths
     }
 
-    override fun getRefResolver(): ParserRefResolver = RefResolver (api)
+    override fun getRefResolver(): ParserRefResolver = schemaResolver
 
     override fun printWarnings() {
         validations.items()
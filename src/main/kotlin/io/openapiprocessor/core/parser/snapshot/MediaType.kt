@@ -0,0 +1,23 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.Encoding
+import io.openapiprocessor.core.parser.MediaType as ParserMediaType
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+
+/**
+ * snapshot MediaType. The schema is stored by its index in the schema table of the snapshot.
+ */
+class MediaType(
+    private val schemas: List<ParserSchema>,
+    private val schema: Int,
+    override val encodings: Map<String, Encoding>
+): ParserMediaType {
+
+    override fun getSchema(): ParserSchema = schemas[schema]
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+import io.openapiprocessor.core.parser.Path as ParserPath
+import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+
+/**
+ * compact OpenAPI model, loaded from a snapshot or lowered from a parsed OpenAPI model (see
+ * [SnapshotBuilder]).
+ */
+class OpenApi(
+    private val paths: Map<String, ParserPath>,
+    private val resolver: ParserRefResolver,
+    private val warnings: Boolean
+): ParserOpenApi {
+    private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+
+    override fun getPaths(): Map<String, ParserPath> = paths
+
+    override fun getRefResolver(): ParserRefResolver = resolver
+
+    override fun printWarnings() {
+        if (!warnings)
+            return
+
+        // the parser messages are not part of the snapshot
+        log.warn("the OpenAPI document has warnings, run without parser snapshot to print them")
+    }
+
+    override fun hasWarnings(): Boolean = warnings
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.model.HttpMethod
+import io.openapiprocessor.core.parser.Operation as ParserOperation
+import io.openapiprocessor.core.parser.Parameter as ParserParameter
+import io.openapiprocessor.core.parser.RequestBody as ParserRequestBody
+import io.openapiprocessor.core.parser.Response as ParserResponse
+
+/**
+ * snapshot Operation.
+ */
+class Operation(
+    private val method: HttpMethod,
+    private val operationId: String?,
+    private val parameters: List<ParserParameter>,
+    private val requestBody: ParserRequestBody?,
+    private val responses: Map<String, ParserResponse>,
+    private val deprecated: Boolean,
+    private val tags: List<String>,
+    override val summary: String?,
+    override val description: String?
+): ParserOperation {
+
+    override fun getMethod(): HttpMethod = method
+
+    override fun getOperationId(): String? = operationId
+
+    override fun getParameters(): List<ParserParameter> = parameters
+
+    override fun getRequestBody(): ParserRequestBody? = requestBody
+
+    override fun getResponses(): Map<String, ParserResponse> = responses
+
+    override fun isDeprecated(): Boolean = deprecated
+
+    override fun hasTags(): Boolean = tags.isNotEmpty()
+
+    override fun getFirstTag(): String? = tags.firstOrNull()
+
+    override fun getTags(): List<String> = tags
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.Parameter as ParserParameter
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+
+/**
+ * snapshot Parameter. The schema is stored by its index in the schema table of the snapshot.
+ */
+class Parameter(
+    private val location: String,
+    private val name: String,
+    private val schemas: List<ParserSchema>,
+    private val schema: Int,
+    private val required: Boolean,
+    private val deprecated: Boolean,
+    override val description: String?
+): ParserParameter {
+
+    override fun getIn(): String = location
+
+    override fun getName(): String = name
+
+    override fun getSchema(): ParserSchema = schemas[schema]
+
+    override fun isRequired(): Boolean = required
+
+    override fun isDeprecated(): Boolean = deprecated
+
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.Operation as ParserOperation
+import io.openapiprocessor.core.parser.Path as ParserPath
+
+/**
+ * snapshot Path.
+ */
+class Path(private val path: String, private val operations: List<ParserOperation>): ParserPath {
+
+    override fun getPath(): String = path
+
+    override fun getOperations(): List<ParserOperation> = operations
+
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.NamedSchema as ParserNamedSchema
+import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+
+/**
+ * snapshot $ref resolver. It returns the resolved schemas recorded by [SnapshotWriter] (or
+ * [SnapshotBuilder]) by the unique key of the `$ref`.
+ */
+class RefResolver(private val refs: Map<String, ParserNamedSchema?>): ParserRefResolver {
+
+    override fun resolve(ref: ParserSchema): ParserNamedSchema {
+        val key = (ref as? Schema)?.refKey ?: ref.getRef()
+        return refs[key] ?: throw Exception("failed to resolve ${ref.getRef()}")
+    }
+
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.MediaType as ParserMediaType
+import io.openapiprocessor.core.parser.RequestBody as ParserRequestBody
+
+/**
+ * snapshot RequestBody.
+ */
+class RequestBody(
+    private val required: Boolean,
+    private val content: Map<String, ParserMediaType>
+): ParserRequestBody {
+
+    override fun getRequired(): Boolean = required
+
+    override fun getContent(): Map<String, ParserMediaType> = content
+
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.MediaType as ParserMediaType
+import io.openapiprocessor.core.parser.Response as ParserResponse
+
+/**
+ * snapshot Response.
+ */
+class Response(
+    private val content: Map<String, ParserMediaType>,
+    override val description: String?
+): ParserResponse {
+
+    override fun getContent(): Map<String, ParserMediaType> = content
+
+}
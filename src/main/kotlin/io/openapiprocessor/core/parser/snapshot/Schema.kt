@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+import java.util.Collections
+
+/**
+ * snapshot Schema. The nested schemas are stored by their index in the schema table of the
+ * snapshot. The properties & items are created once on first access.
+ *
+ * A `$ref` schema also stores the unique key of its `$ref` ([refKey]) that is used to resolve it.
+ */
+class Schema(
+    private val table: List<ParserSchema>,
+    private val type: String?,
+    private val format: String?,
+    private val ref: String?,
+    internal val refKey: String?,
+    private val item: Int,
+    private val propertyNames: Array<String>,
+    private val propertySchemas: IntArray,
+    private val items: IntArray,
+    private val itemsOf: String?,
+    private val enum: List<*>,
+    private val default: Any?,
+    override val description: String?,
+    private val flags: Int,
+    private val required: List<String>,
+    private val minLength: Int?,
+    private val maxLength: Int?,
+    private val minItems: Int?,
+    private val maxItems: Int?,
+    private val maximum: Number?,
+    private val minimum: Number?,
+    override val pattern: String?
+): ParserSchema {
+
+    override fun getType(): String? = type
+
+    override fun getFormat(): String? = format
+
+    override fun getRef(): String? = ref
+
+    override fun getItem(): ParserSchema = table[item]
+
+    private val properties: Map<String, ParserSchema> by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        if (propertyNames.isEmpty()) {
+            emptyMap()
+        } else {
+            val properties = LinkedHashMap<String, ParserSchema>((propertyNames.size / 0.75f).toInt() + 1)
+            propertyNames.forEachIndexed { index, name ->
+                properties[name] = table[propertySchemas[index]]
+            }
+            Collections.unmodifiableMap(properties)
+        }
+    }
+
+    private val itemSchemas: List<ParserSchema> by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        if (items.isEmpty()) {
+            emptyList()
+        } else {
+            Collections.unmodifiableList(items.map { table[it] })
+        }
+    }
+
+    override fun getProperties(): Map<String, ParserSchema> = properties
+
+    override fun getItems(): List<ParserSchema> = itemSchemas
+
+    override fun itemsOf(): String? = itemsOf
+
+    override fun getEnum(): List<*> = enum
+
+    override fun getDefault(): Any? = default
+
+    override fun isDeprecated(): Boolean = has(DEPRECATED)
+
+    override fun getRequired(): List<String> = required
+
+    override fun getNullable(): Boolean = has(NULLABLE)
+
+    override fun getMinLength(): Int? = minLength
+
+    override fun getMaxLength(): Int? = maxLength
+
+    override fun getMinItems(): Int? = minItems
+
+    override fun getMaxItems(): Int? = maxItems
+
+    override fun getMaximum(): Number? = maximum
+
+    override fun isExclusiveMaximum(): Boolean = has(EXCLUSIVE_MAXIMUM)
+
+    override fun getMinimum(): Number? = minimum
+
+    override fun isExclusiveMinimum(): Boolean = has(EXCLUSIVE_MINIMUM)
+
+    override val readOnly: Boolean
+        get() = has(READ_ONLY)
+
+    override val writeOnly: Boolean
+        get() = has(WRITE_ONLY)
+
+    private fun has(flag: Int): Boolean = (flags and flag) != 0
+
+    companion object {
+        const val DEPRECATED = 1
+        const val NULLABLE = 2
+        const val EXCLUSIVE_MAXIMUM = 4
+        const val EXCLUSIVE_MINIMUM = 8
+        const val READ_ONLY = 16
+        const val WRITE_ONLY = 32
+
+        /**
+         * get the flags of a schema.
+         */
+        fun getFlags(schema: ParserSchema): Int {
+            var flags = 0
+            if (schema.isDeprecated()) flags = flags or DEPRECATED
+            if (schema.getNullable()) flags = flags or NULLABLE
+            if (schema.isExclusiveMaximum()) flags = flags or EXCLUSIVE_MAXIMUM
+            if (schema.isExclusiveMinimum()) flags = flags or EXCLUSIVE_MINIMUM
+            if (schema.readOnly) flags = flags or READ_ONLY
+            if (schema.writeOnly) flags = flags or WRITE_ONLY
+            return flags
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.Encoding
+import io.openapiprocessor.core.parser.NamedSchema
+import io.openapiprocessor.core.parser.MediaType as ParserMediaType
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+import io.openapiprocessor.core.parser.Operation as ParserOperation
+import io.openapiprocessor.core.parser.Parameter as ParserParameter
+import io.openapiprocessor.core.parser.Path as ParserPath
+import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
+import io.openapiprocessor.core.parser.Response as ParserResponse
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+
+/**
+ * lowers a parsed OpenAPI model (of any parser) into the compact snapshot model, without writing
+ * a snapshot. The snapshot model is immutable and parser independent: schemas are stored once in
+ * a schema table, names are interned, properties are arrays and each `$ref` is resolved once.
+ * The parser models create new wrapper objects on each access, the snapshot model does not.
+ *
+ * Like [SnapshotWriter] it resolves a `$ref` once by its unique key (see [getRefKey]). If the
+ * parser can't provide a unique key of a `$ref` the builder gives up.
+ */
+class SnapshotBuilder {
+
+    private class Resolved(val name: String?, val schema: Int)
+
+    private val strings = HashMap<String, String>()
+    private val sources = ArrayList<ParserSchema>()
+    private val schemas = ArrayList<ParserSchema>()
+    private val refs = LinkedHashMap<String, Resolved?>()
+
+    private lateinit var resolver: ParserRefResolver
+    private var unique = true
+
+    /**
+     * number of operations in the snapshot model.
+     */
+    var included = 0
+        private set
+
+    /**
+     * number of operations that are not in the snapshot model.
+     */
+    var excluded = 0
+        private set
+
+    /**
+     * build the snapshot model. It only contains the included operations and the schemas used by
+     * them, i.e. excluded operations do not pay for lowering their schemas. A path without
+     * included operations is dropped.
+     *
+     * @param api the parsed OpenAPI model
+     * @param include true if the operation of the path is part of the snapshot model
+     * @return the snapshot model, or null if the OpenAPI model has a `$ref` without unique key
+     */
+    fun build(
+        api: ParserOpenApi,
+        include: (path: String, operation: ParserOperation) -> Boolean = { _, _ -> true }
+    ): ParserOpenApi? {
+        resolver = api.getRefResolver()
+
+        val paths = LinkedHashMap<String, ParserPath>(capacity(api.getPaths().size))
+        api.getPaths().forEach { (name, path) ->
+            val all = path.getOperations()
+            val operations = all.filter { include(name, it) }
+            included += operations.size
+            excluded += all.size - operations.size
+            if (operations.isEmpty())
+                return@forEach
+
+            val interned = intern(name)
+            paths[interned] = Path(interned, buildOperations(operations))
+        }
+
+        // building a schema may add more schemas to the table
+        var next = 0
+        while (next < sources.size && unique) {
+            schemas.add(buildSchema(sources[next++]))
+        }
+
+        if (!unique)
+            return null
+
+        val resolved = HashMap<String, NamedSchema?>(capacity(refs.size))
+        refs.forEach { (key, it) ->
+            resolved[key] = if (it != null) NamedSchema(it.name, schemas[it.schema]) else null
+        }
+
+        return OpenApi(paths, RefResolver(resolved), api.hasWarnings())
+    }
+
+    private fun buildOperations(operations: List<ParserOperation>): List<ParserOperation> {
+        return operations.map { operation ->
+            val body = operation.getRequestBody()
+
+            Operation(
+                operation.getMethod(),
+                intern(operation.getOperationId()),
+                buildParameters(operation.getParameters()),
+                if (body != null) RequestBody(body.getRequired(), buildContent(body.getContent())) else null,
+                buildResponses(operation.getResponses()),
+                operation.isDeprecated(),
+                operation.getTags().map { intern(it)!! },
+                operation.summary,
+                operation.description)
+        }
+    }
+
+    private fun buildParameters(parameters: List<ParserParameter>): List<ParserParameter> {
+        return parameters.map {
+            Parameter(
+                intern(it.getIn())!!,
+                intern(it.getName())!!,
+                schemas,
+                addSchema(it.getSchema()),
+                it.isRequired(),
+                it.isDeprecated(),
+                it.description)
+        }
+    }
+
+    private fun buildResponses(responses: Map<String, ParserResponse>): Map<String, ParserResponse> {
+        val result = LinkedHashMap<String, ParserResponse>(capacity(responses.size))
+        responses.forEach { (status, response) ->
+            result[intern(status)!!] = Response(buildContent(response.getContent()), response.description)
+        }
+        return result
+    }
+
+    private fun buildContent(content: Map<String, ParserMediaType>): Map<String, ParserMediaType> {
+        val result = LinkedHashMap<String, ParserMediaType>(capacity(content.size))
+        content.forEach { (contentType, mediaType) ->
+            result[intern(contentType)!!] = MediaType(
+                schemas,
+                addSchema(mediaType.getSchema()),
+                buildEncodings(mediaType.encodings))
+        }
+        return result
+    }
+
+    private fun buildEncodings(encodings: Map<String, Encoding>): Map<String, Encoding> {
+        if (encodings.isEmpty())
+            return emptyMap()
+
+        val result = LinkedHashMap<String, Encoding>(capacity(encodings.size))
+        encodings.forEach { (property, encoding) ->
+            result[intern(property)!!] = Encoding(intern(encoding.contentType))
+        }
+        return result
+    }
+
+    private fun buildSchema(schema: ParserSchema): ParserSchema {
+        val type = intern(schema.getType())
+        val ref = intern(schema.getRef())
+        val refKey = if (ref != null) intern(resolve(schema)) else null
+
+        val item = if (type == "array") addSchema(schema.getItem()) else -1
+
+        val properties = schema.getProperties()
+        val propertyNames = arrayOfNulls<String>(properties.size)
+        val propertySchemas = IntArray(properties.size)
+        var index = 0
+        properties.forEach { (name, property) ->
+            propertyNames[index] = intern(name)
+            propertySchemas[index] = addSchema(property)
+            index++
+        }
+
+        val items = schema.getItems()
+        val itemSchemas = IntArray(items.size)
+        items.forEachIndexed { idx, it ->
+            itemSchemas[idx] = addSchema(it)
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        return Schema(
+            schemas,
+            type,
+            intern(schema.getFormat()),
+            ref,
+            refKey,
+            item,
+            propertyNames as Array<String>,
+            propertySchemas,
+            itemSchemas,
+            intern(schema.itemsOf()),
+            schema.getEnum().toList(),
+            schema.getDefault(),
+            schema.description,
+            Schema.getFlags(schema),
+            schema.getRequired().map { intern(it)!! },
+            schema.getMinLength(),
+            schema.getMaxLength(),
+            schema.getMinItems(),
+            schema.getMaxItems(),
+            schema.getMaximum(),
+            schema.getMinimum(),
+            schema.pattern)
+    }
+
+    private fun resolve(schema: ParserSchema): String? {
+        val key = getRefKey(resolver, schema)
+        if (key == null) {
+            unique = false
+            return null
+        }
+
+        if (refs.containsKey(key))
+            return key
+
+        refs[key] = try {
+            val resolved = resolver.resolve(schema)
+            Resolved(intern(resolved.name), addSchema(resolved.schema))
+        } catch (e: Exception) {
+            // fails again if the converter tries to resolve it
+            null
+        }
+        return key
+    }
+
+    private fun addSchema(schema: ParserSchema): Int {
+        sources.add(schema)
+        return sources.size - 1
+    }
+
+    private fun intern(value: String?): String? {
+        if (value == null)
+            return null
+
+        return strings.getOrPut(value) { value }
+    }
+
+    private fun capacity(count: Int): Int = (count / 0.75f).toInt() + 1
+}
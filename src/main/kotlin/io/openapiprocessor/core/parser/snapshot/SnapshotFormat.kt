@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.CachingRefResolver
+import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+
+/**
+ * snapshot file header, "OAPS".
+ */
+internal const val SNAPSHOT_MAGIC = 0x4f415053
+
+/**
+ * version of the snapshot file format. Increment on any change to the format.
+ */
+internal const val SNAPSHOT_VERSION = 3
+
+/**
+ * type tags of the enum, default & constraint values.
+ */
+internal const val VALUE_NULL = 0
+internal const val VALUE_STRING = 1
+internal const val VALUE_BOOLEAN = 2
+internal const val VALUE_INT = 3
+internal const val VALUE_LONG = 4
+internal const val VALUE_FLOAT = 5
+internal const val VALUE_DOUBLE = 6
+internal const val VALUE_BIG_INTEGER = 7
+internal const val VALUE_BIG_DECIMAL = 8
+internal const val VALUE_LIST = 9
+internal const val VALUE_MAP = 10
+
+/**
+ * the unique key of a `$ref` (provided by the parser adapter, see [CachingRefResolver.getKey], or
+ * stored in the snapshot). The snapshot resolves a `$ref` by this key, the `$ref` string alone is not unique if the
+ * OpenAPI description has multiple documents.
+ *
+ * @param resolver the $ref resolver of the parsed model
+ * @param ref the `$ref` schema
+ * @return the key, or null if the parser adapter can't provide a unique key
+ */
+internal fun getRefKey(resolver: ParserRefResolver, ref: ParserSchema): String? {
+    return when (resolver) {
+        is CachingRefResolver -> resolver.getKey(ref)
+        is RefResolver -> (ref as? Schema)?.refKey
+        else -> null
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.Version
+import io.openapiprocessor.core.parser.NoOpenApiException
+import io.openapiprocessor.core.parser.Parser
+import io.openapiprocessor.core.parser.ParserType
+import io.openapiprocessor.core.processor.DocumentCollector
+import io.openapiprocessor.core.support.createDigest
+import io.openapiprocessor.core.support.sha256
+import io.openapiprocessor.core.support.toHex
+import io.openapiprocessor.core.support.toURI
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.io.*
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+
+private const val SNAPSHOT_SUFFIX = ".snapshot"
+private const val TEMP_SUFFIX = ".tmp"
+
+/**
+ * snapshot layer around [Parser.parse]. It stores the parsed OpenAPI model in a binary snapshot
+ * file and loads the snapshot instead of parsing the OpenAPI document again if the inputs did not
+ * change.
+ *
+ * The snapshot key is the hash of the OpenAPI document and all documents it references, the
+ * parser and the core version. There is one snapshot file per OpenAPI document & parser, i.e. a
+ * changed document replaces its old snapshot. The folder can be shared by concurrent processor
+ * runs: a snapshot is written to a temporary file and then moved to its final name.
+ *
+ * If the inputs can't be hashed (e.g. a remote `$ref`) or the parser can't provide a unique key of
+ * a `$ref` (see [getRefKey]) it always parses the OpenAPI document.
+ */
+class SnapshotParser(
+
+    /**
+     * the snapshot folder.
+     */
+    private val folder: Path,
+
+    /**
+     * the parser used if there is no valid snapshot.
+     */
+    private val parser: Parser = Parser()
+) {
+    private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+
+    /**
+     * parse the OpenAPI document, or load its snapshot.
+     *
+     * @param processorOptions the processor options, i.e. `apiPath` and `parser`.
+     * @return the OpenAPI model
+     */
+    fun parse(processorOptions: Map<String, *>): ParserOpenApi {
+        val apiPath = processorOptions["apiPath"]?.toString() ?: throw NoOpenApiException()
+        val parserType = processorOptions["parser"]?.toString() ?: ParserType.SWAGGER.name
+
+        val key = createKey(apiPath, parserType)
+        if (key == null) {
+            log.debug("can't create parser snapshot key of {}", apiPath)
+            return parser.parse(processorOptions)
+        }
+
+        val file = getFile(apiPath, parserType)
+        val snapshot = read(file, key)
+        if (snapshot != null) {
+            log.info("using parser snapshot {}", file)
+            return snapshot
+        }
+
+        val api = parser.parse(processorOptions)
+        write(file, key, api)
+        return api
+    }
+
+    private fun read(file: Path, key: String): ParserOpenApi? {
+        return try {
+            DataInputStream(BufferedInputStream(Files.newInputStream(file))).use {
+                SnapshotReader(it).read(key)
+            }
+        } catch (e: NoSuchFileException) {
+            null
+        } catch (e: Exception) {
+            log.debug("can't read parser snapshot {}", file, e)
+            null
+        }
+    }
+
+    private fun write(file: Path, key: String, api: ParserOpenApi) {
+        try {
+            Files.createDirectories(folder)
+            val temp = Files.createTempFile(folder, "snapshot", TEMP_SUFFIX)
+            try {
+                DataOutputStream(BufferedOutputStream(Files.newOutputStream(temp))).use {
+                    SnapshotWriter(it).write(key, api)
+                }
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+            } finally {
+                Files.deleteIfExists(temp)
+            }
+        } catch (e: UnsupportedRefException) {
+            log.debug("skipping parser snapshot {}, {}", file, e.message)
+        } catch (e: Exception) {
+            // the snapshot is optional, i.e. it should never break processing
+            log.warn("can't write parser snapshot {}", file, e)
+        }
+    }
+
+    private fun getFile(apiPath: String, parserType: String): Path {
+        val name = sha256("$parserType:${toURI(apiPath)}".toByteArray())
+        return folder.resolve(name + SNAPSHOT_SUFFIX)
+    }
+
+    private fun createKey(apiPath: String, parserType: String): String? {
+        val documents = DocumentCollector().collect(toURI(apiPath)) ?: return null
+
+        val md = createDigest()
+        md.update("core:${Version.version}".toByteArray())
+        md.update("parser:$parserType".toByteArray())
+
+        documents.entries
+            .sortedBy { it.key.toString() }
+            .forEach { (uri, content) ->
+                md.update(uri.toString().toByteArray())
+                md.update(ByteBuffer.allocate(4).putInt(content.size).array())
+                md.update(content)
+            }
+
+        return md.digest().toHex()
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.model.HttpMethod
+import io.openapiprocessor.core.parser.Encoding
+import io.openapiprocessor.core.parser.NamedSchema
+import io.openapiprocessor.core.parser.MediaType as ParserMediaType
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+import io.openapiprocessor.core.parser.Operation as ParserOperation
+import io.openapiprocessor.core.parser.Parameter as ParserParameter
+import io.openapiprocessor.core.parser.Path as ParserPath
+import io.openapiprocessor.core.parser.Response as ParserResponse
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+import java.io.DataInputStream
+import java.io.IOException
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.nio.charset.StandardCharsets
+
+/**
+ * reads an OpenAPI model from a snapshot written by [SnapshotWriter].
+ */
+class SnapshotReader(private val input: DataInputStream) {
+
+    private val strings = ArrayList<String>()
+    private val schemas = ArrayList<ParserSchema>()
+
+    /**
+     * read the snapshot.
+     *
+     * @param key the expected key of the OpenAPI inputs
+     * @return the OpenAPI model, or null if the snapshot has another format version or key
+     * @throws IOException if the snapshot is broken
+     */
+    fun read(key: String): ParserOpenApi? {
+        if (input.readInt() != SNAPSHOT_MAGIC)
+            throw IOException("no parser snapshot")
+
+        if (input.readInt() != SNAPSHOT_VERSION)
+            return null
+
+        if (input.readUTF() != key)
+            return null
+
+        val warnings = input.readBoolean()
+
+        val pathCount = readSize()
+        val paths = LinkedHashMap<String, ParserPath>(capacity(pathCount))
+        repeat(pathCount) {
+            val name = readString()!!
+            paths[name] = Path(name, readOperations())
+        }
+
+        while (input.readBoolean()) {
+            schemas.add(readSchema())
+        }
+
+        val refCount = readSize()
+        val refs = HashMap<String, NamedSchema?>(capacity(refCount))
+        repeat(refCount) {
+            val key = readString()!!
+            refs[key] = if (input.readBoolean()) {
+                val name = readString()
+                NamedSchema(name, schemas[readSize()])
+            } else {
+                null
+            }
+        }
+
+        return OpenApi(paths, RefResolver(refs), warnings)
+    }
+
+    private fun readOperations(): List<ParserOperation> {
+        val count = readSize()
+        val operations = ArrayList<ParserOperation>(count)
+        repeat(count) {
+            val method = HttpMethod.valueOf(readString()!!)
+            val operationId = readString()
+            val parameters = readParameters()
+
+            val body = if (input.readBoolean()) {
+                val required = input.readBoolean()
+                RequestBody(required, readContent())
+            } else {
+                null
+            }
+
+            val responseCount = readSize()
+            val responses = LinkedHashMap<String, ParserResponse>(capacity(responseCount))
+            repeat(responseCount) {
+                val status = readString()!!
+                val content = readContent()
+                responses[status] = Response(content, readString())
+            }
+
+            operations.add(Operation(
+                method,
+                operationId,
+                parameters,
+                body,
+                responses,
+                input.readBoolean(),
+                readTags(),
+                readString(),
+                readString()))
+        }
+        return operations
+    }
+
+    private fun readTags(): List<String> {
+        val count = readSize()
+        val tags = ArrayList<String>(count)
+        repeat(count) {
+            tags.add(readString()!!)
+        }
+        return tags
+    }
+
+    private fun readParameters(): List<ParserParameter> {
+        val count = readSize()
+        val parameters = ArrayList<ParserParameter>(count)
+        repeat(count) {
+            parameters.add(Parameter(
+                readString()!!,
+                readString()!!,
+                schemas,
+                readSize(),
+                input.readBoolean(),
+                input.readBoolean(),
+                readString()))
+        }
+        return parameters
+    }
+
+    private fun readContent(): Map<String, ParserMediaType> {
+        val count = readSize()
+        val content = LinkedHashMap<String, ParserMediaType>(capacity(count))
+        repeat(count) {
+            val contentType = readString()!!
+            val schema = readSize()
+            content[contentType] = MediaType(schemas, schema, readEncodings())
+        }
+        return content
+    }
+
+    private fun readEncodings(): Map<String, Encoding> {
+        val count = readSize()
+        val encodings = LinkedHashMap<String, Encoding>(capacity(count))
+        repeat(count) {
+            val property = readString()!!
+            encodings[property] = Encoding(readString())
+        }
+        return encodings
+    }
+
+    private fun readSchema(): ParserSchema {
+        val type = readString()
+        val format = readString()
+        val ref = readString()
+        val refKey = if (ref != null) readString() else null
+        val item = readSize() - 1
+
+        val propertyCount = readSize()
+        val propertyNames = Array(propertyCount) { "" }
+        val propertySchemas = IntArray(propertyCount)
+        for (index in 0 until propertyCount) {
+            propertyNames[index] = readString()!!
+            propertySchemas[index] = readSize()
+        }
+
+        val items = IntArray(readSize()) { readSize() }
+        val itemsOf = readString()
+
+        val enumCount = readSize()
+        val enum = ArrayList<Any?>(enumCount)
+        repeat(enumCount) {
+            enum.add(readValue())
+        }
+        val default = readValue()
+
+        val description = readString()
+        val flags = readSize()
+
+        val requiredCount = readSize()
+        val required = ArrayList<String>(requiredCount)
+        repeat(requiredCount) {
+            required.add(readString()!!)
+        }
+
+        return Schema(
+            schemas,
+            type,
+            format,
+            ref,
+            refKey,
+            item,
+            propertyNames,
+            propertySchemas,
+            items,
+            itemsOf,
+            enum,
+            default,
+            description,
+            flags,
+            required,
+            readValue() as Int?,
+            readValue() as Int?,
+            readValue() as Int?,
+            readValue() as Int?,
+            readValue() as Number?,
+            readValue() as Number?,
+            readString())
+    }
+
+    private fun readValue(): Any? {
+        return when (val tag = input.readUnsignedByte()) {
+            VALUE_NULL -> null
+            VALUE_STRING -> readString()
+            VALUE_BOOLEAN -> input.readBoolean()
+            VALUE_INT -> input.readInt()
+            VALUE_LONG -> input.readLong()
+            VALUE_FLOAT -> input.readFloat()
+            VALUE_DOUBLE -> input.readDouble()
+            VALUE_BIG_INTEGER -> BigInteger(readString()!!)
+            VALUE_BIG_DECIMAL -> BigDecimal(readString()!!)
+            VALUE_LIST -> {
+                val count = readSize()
+                val values = ArrayList<Any?>(count)
+                repeat(count) {
+                    values.add(readValue())
+                }
+                values
+            }
+            VALUE_MAP -> {
+                val count = readSize()
+                val values = LinkedHashMap<String, Any?>(capacity(count))
+                repeat(count) {
+                    val key = readString()!!
+                    values[key] = readValue()
+                }
+                values
+            }
+            else -> throw IOException("unknown value type $tag")
+        }
+    }
+
+    private fun readString(): String? {
+        return when (val index = readSize()) {
+            0 -> null
+            1 -> {
+                val bytes = ByteArray(readSize())
+                input.readFully(bytes)
+                val value = String(bytes, StandardCharsets.UTF_8)
+                strings.add(value)
+                value
+            }
+            else -> strings[index - 2]
+        }
+    }
+
+    private fun readSize(): Int {
+        var value = 0
+        var shift = 0
+        while (true) {
+            val b = input.readUnsignedByte()
+            value = value or ((b and 0x7f) shl shift)
+            if ((b and 0x80) == 0)
+                return value
+
+            shift += 7
+            if (shift > 28)
+                throw IOException("broken var int")
+        }
+    }
+
+    private fun capacity(count: Int): Int = (count / 0.75f).toInt() + 1
+}
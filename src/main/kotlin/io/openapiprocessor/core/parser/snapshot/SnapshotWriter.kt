@@ -0,0 +1,316 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.openapiprocessor.core.parser.Encoding
+import io.openapiprocessor.core.parser.MediaType as ParserMediaType
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+import io.openapiprocessor.core.parser.Operation as ParserOperation
+import io.openapiprocessor.core.parser.Parameter as ParserParameter
+import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+import java.io.DataOutputStream
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.nio.charset.StandardCharsets
+
+/**
+ * writes an OpenAPI model to a snapshot. It only uses the parser abstraction, i.e. it works with
+ * any parser.
+ *
+ * The snapshot stores each string once (string table), and all schemas in a schema table that is
+ * referenced by index. A `$ref` is resolved once (by its unique key, see [getRefKey]) and the
+ * resolved schema is stored once, no matter how often the `$ref` is used. Recursive schemas are
+ * only possible via `$ref`, i.e. writing the schema table terminates.
+ *
+ * The same `$ref` string may resolve to different schemas in different documents. If the parser
+ * can't provide a unique key of a `$ref` it throws an [UnsupportedRefException], i.e. there is no
+ * snapshot.
+ */
+class SnapshotWriter(private val out: DataOutputStream) {
+
+    private class Resolved(val name: String?, val schema: Int)
+
+    private val strings = HashMap<String, Int>()
+    private val schemas = ArrayList<ParserSchema>()
+    private val refs = LinkedHashMap<String, Resolved?>()
+
+    private lateinit var resolver: ParserRefResolver
+
+    /**
+     * write the snapshot.
+     *
+     * @param key the key of the OpenAPI inputs
+     * @param api the OpenAPI model
+     */
+    fun write(key: String, api: ParserOpenApi) {
+        resolver = api.getRefResolver()
+
+        out.writeInt(SNAPSHOT_MAGIC)
+        out.writeInt(SNAPSHOT_VERSION)
+        out.writeUTF(key)
+        out.writeBoolean(api.hasWarnings())
+
+        val paths = api.getPaths()
+        writeSize(paths.size)
+        paths.forEach { (name, path) ->
+            writeString(name)
+            writeOperations(path.getOperations())
+        }
+
+        // writing a schema may add more schemas to the table
+        var next = 0
+        while (next < schemas.size) {
+            out.writeBoolean(true)
+            writeSchema(schemas[next++])
+        }
+        out.writeBoolean(false)
+
+        writeSize(refs.size)
+        refs.forEach { (key, resolved) ->
+            writeString(key)
+            out.writeBoolean(resolved != null)
+            if (resolved != null) {
+                writeString(resolved.name)
+                writeSize(resolved.schema)
+            }
+        }
+
+        out.flush()
+    }
+
+    private fun writeOperations(operations: List<ParserOperation>) {
+        writeSize(operations.size)
+        operations.forEach { operation ->
+            writeString(operation.getMethod().name)
+            writeString(operation.getOperationId())
+            writeParameters(operation.getParameters())
+
+            val body = operation.getRequestBody()
+            out.writeBoolean(body != null)
+            if (body != null) {
+                out.writeBoolean(body.getRequired())
+                writeContent(body.getContent())
+            }
+
+            val responses = operation.getResponses()
+            writeSize(responses.size)
+            responses.forEach { (status, response) ->
+                writeString(status)
+                writeContent(response.getContent())
+                writeString(response.description)
+            }
+
+            out.writeBoolean(operation.isDeprecated())
+            val tags = operation.getTags()
+            writeSize(tags.size)
+            tags.forEach {
+                writeString(it)
+            }
+            writeString(operation.summary)
+            writeString(operation.description)
+        }
+    }
+
+    private fun writeParameters(parameters: List<ParserParameter>) {
+        writeSize(parameters.size)
+        parameters.forEach {
+            writeString(it.getIn())
+            writeString(it.getName())
+            writeSize(addSchema(it.getSchema()))
+            out.writeBoolean(it.isRequired())
+            out.writeBoolean(it.isDeprecated())
+            writeString(it.description)
+        }
+    }
+
+    private fun writeContent(content: Map<String, ParserMediaType>) {
+        writeSize(content.size)
+        content.forEach { (contentType, mediaType) ->
+            writeString(contentType)
+            writeSize(addSchema(mediaType.getSchema()))
+            writeEncodings(mediaType.encodings)
+        }
+    }
+
+    private fun writeEncodings(encodings: Map<String, Encoding>) {
+        writeSize(encodings.size)
+        encodings.forEach { (property, encoding) ->
+            writeString(property)
+            writeString(encoding.contentType)
+        }
+    }
+
+    private fun writeSchema(schema: ParserSchema) {
+        val type = schema.getType()
+        val ref = schema.getRef()
+
+        writeString(type)
+        writeString(schema.getFormat())
+        writeString(ref)
+
+        if (ref != null) {
+            val key = getRefKey(resolver, schema) ?: throw UnsupportedRefException(ref)
+            writeString(key)
+            resolve(key, schema)
+        }
+
+        if (type == "array") {
+            writeSize(addSchema(schema.getItem()) + 1)
+        } else {
+            writeSize(0)
+        }
+
+        val properties = schema.getProperties()
+        writeSize(properties.size)
+        properties.forEach { (name, property) ->
+            writeString(name)
+            writeSize(addSchema(property))
+        }
+
+        val items = schema.getItems()
+        writeSize(items.size)
+        items.forEach {
+            writeSize(addSchema(it))
+        }
+        writeString(schema.itemsOf())
+
+        val enum = schema.getEnum()
+        writeSize(enum.size)
+        enum.forEach {
+            writeValue(it)
+        }
+        writeValue(schema.getDefault())
+
+        writeString(schema.description)
+        writeSize(Schema.getFlags(schema))
+
+        val required = schema.getRequired()
+        writeSize(required.size)
+        required.forEach {
+            writeString(it)
+        }
+
+        writeValue(schema.getMinLength())
+        writeValue(schema.getMaxLength())
+        writeValue(schema.getMinItems())
+        writeValue(schema.getMaxItems())
+        writeValue(schema.getMaximum())
+        writeValue(schema.getMinimum())
+        writeString(schema.pattern)
+    }
+
+    private fun resolve(key: String, schema: ParserSchema) {
+        if (refs.containsKey(key))
+            return
+
+        refs[key] = try {
+            val resolved = resolver.resolve(schema)
+            Resolved(resolved.name, addSchema(resolved.schema))
+        } catch (e: Exception) {
+            // fails again if the converter tries to resolve it
+            null
+        }
+    }
+
+    private fun addSchema(schema: ParserSchema): Int {
+        schemas.add(schema)
+        return schemas.size - 1
+    }
+
+    private fun writeValue(value: Any?) {
+        when (value) {
+            null -> {
+                out.writeByte(VALUE_NULL)
+            }
+            is String -> {
+                out.writeByte(VALUE_STRING)
+                writeString(value)
+            }
+            is Boolean -> {
+                out.writeByte(VALUE_BOOLEAN)
+                out.writeBoolean(value)
+            }
+            is Int -> {
+                out.writeByte(VALUE_INT)
+                out.writeInt(value)
+            }
+            is Long -> {
+                out.writeByte(VALUE_LONG)
+                out.writeLong(value)
+            }
+            is Float -> {
+                out.writeByte(VALUE_FLOAT)
+                out.writeFloat(value)
+            }
+            is Double -> {
+                out.writeByte(VALUE_DOUBLE)
+                out.writeDouble(value)
+            }
+            is BigInteger -> {
+                out.writeByte(VALUE_BIG_INTEGER)
+                writeString(value.toString())
+            }
+            is BigDecimal -> {
+                out.writeByte(VALUE_BIG_DECIMAL)
+                writeString(value.toString())
+            }
+            is List<*> -> {
+                out.writeByte(VALUE_LIST)
+                writeSize(value.size)
+                value.forEach { writeValue(it) }
+            }
+            is Map<*, *> -> {
+                out.writeByte(VALUE_MAP)
+                writeSize(value.size)
+                value.forEach { (k, v) ->
+                    writeString(k.toString())
+                    writeValue(v)
+                }
+            }
+            else -> {
+                // i.e. parser specific json nodes
+                out.writeByte(VALUE_STRING)
+                writeString(value.toString())
+            }
+        }
+    }
+
+    /**
+     * write a string table reference: 0 is null, 1 is a new string that follows, n + 2 is the
+     * n-th string of the table.
+     */
+    private fun writeString(value: String?) {
+        if (value == null) {
+            writeSize(0)
+            return
+        }
+
+        val index = strings[value]
+        if (index != null) {
+            writeSize(index + 2)
+            return
+        }
+
+        strings[value] = strings.size
+        val bytes = value.toByteArray(StandardCharsets.UTF_8)
+        writeSize(1)
+        writeSize(bytes.size)
+        out.write(bytes)
+    }
+
+    /**
+     * write a non-negative int as var int.
+     */
+    private fun writeSize(value: Int) {
+        var remaining = value
+        while (remaining >= 0x80) {
+            out.writeByte((remaining and 0x7f) or 0x80)
+            remaining = remaining ushr 7
+        }
+        out.writeByte(remaining)
+    }
+}
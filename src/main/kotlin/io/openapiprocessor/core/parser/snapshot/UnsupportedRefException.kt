@@ -0,0 +1,16 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+/**
+ * thrown if a `$ref` has no unique key, i.e. it can't be stored in a snapshot.
+ */
+class UnsupportedRefException(private val ref: String) : RuntimeException() {
+
+    override val message: String
+        get() = "no unique key of \$ref '$ref'"
+
+}
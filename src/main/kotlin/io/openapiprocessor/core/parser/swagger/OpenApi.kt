@@ -5,6 +5,7 @@
 
 package io.openapiprocessor.core.parser.swagger
 
+import io.openapiprocessor.core.parser.CachingRefResolver
 import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
 import io.openapiprocessor.core.parser.Path as ParserPath
 import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
@@ -19,6 +20,9 @@ import org.slf4j.LoggerFactory
 class OpenApi(private val result: SwaggerParseResult): ParserOpenApi {
     private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
 
+    // swagger rewrites $refs to other documents to local $refs, i.e. the $ref string is unique
+    private val refResolver = CachingRefResolver(RefResolver(result.openAPI))
+
     override fun getPaths(): Map<String, ParserPath> {
         val paths = linkedMapOf<String, ParserPath>()
 
@@ -29,7 +33,7 @@ class OpenApi(private val result: SwaggerParseResult): ParserOpenApi {
         return paths
     }
 
-    override fun getRefResolver(): ParserRefResolver = RefResolver (result.openAPI)
+    override fun getRefResolver(): ParserRefResolver = refResolver
 
     override fun printWarnings() {
         result.messages?.forEach {
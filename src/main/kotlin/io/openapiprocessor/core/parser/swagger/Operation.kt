@@ -74,4 +74,6 @@ class Operation(
 
     override fun getFirstTag(): String? = operation.tags?.first()
 
+    override fun getTags(): List<String> = operation.tags ?: emptyList()
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.processor
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.io.IOException
+import java.net.URI
+import java.nio.file.Files
+import java.nio.file.Paths
+
+/**
+ * collects the OpenAPI document and all documents it (transitively) references by `$ref`. It only
+ * reads the documents as plain yaml/json tree, it does not parse the OpenAPI model.
+ *
+ * Only local (i.e. `file:`) documents are supported.
+ */
+class DocumentCollector {
+    private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+
+    private val mapper = ObjectMapper(YAMLFactory())
+
+    /**
+     * collect the documents.
+     *
+     * @param document the root document
+     * @return map of document uri to document content, or null if a document is not a local file
+     */
+    fun collect(document: URI): Map<URI, ByteArray>? {
+        val documents = linkedMapOf<URI, ByteArray>()
+        val pending = ArrayDeque<URI>()
+        pending.add(document.normalize())
+
+        while (pending.isNotEmpty()) {
+            val current = pending.removeFirst()
+            if (documents.containsKey(current))
+                continue
+
+            if (current.scheme != "file") {
+                log.debug("can't collect non-file document {}", current)
+                return null
+            }
+
+            val path = Paths.get(current)
+            if (!Files.isRegularFile(path)) {
+                log.debug("can't find document {}", current)
+                return null
+            }
+
+            val content = Files.readAllBytes(path)
+            documents[current] = content
+
+            val tree = try {
+                mapper.readTree(content)
+            } catch (e: IOException) {
+                log.debug("can't read document {}", current, e)
+                return null
+            }
+
+            val refs = mutableListOf<String>()
+            collectRefs(tree, refs)
+
+            refs.forEach { ref ->
+                try {
+                    pending.add(current.resolve(ref).normalize())
+                } catch (e: IllegalArgumentException) {
+                    log.debug("can't resolve \$ref {} of document {}", ref, current)
+                    return null
+                }
+            }
+        }
+
+        return documents
+    }
+
+    private fun collectRefs(node: JsonNode?, refs: MutableList<String>) {
+        if (node == null)
+            return
+
+        if (node.isObject) {
+            node.fields().forEach { (key, value) ->
+                if (key == "\$ref" && value.isTextual) {
+                    val ref = value.asText().substringBefore('#')
+                    if (ref.isNotEmpty()) {
+                        refs.add(ref)
+                    }
+                } else {
+                    collectRefs(value, refs)
+                }
+            }
+        } else if (node.isArray) {
+            node.forEach { collectRefs(it, refs) }
+        }
+    }
+}
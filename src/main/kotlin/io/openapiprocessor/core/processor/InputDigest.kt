@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.processor
+
+import io.openapiprocessor.core.Version
+import io.openapiprocessor.core.support.createDigest
+import io.openapiprocessor.core.support.toHex
+import io.openapiprocessor.core.support.toURI
+import java.net.URI
+import java.nio.ByteBuffer
+import java.nio.file.Paths
+import java.security.MessageDigest
+
+/**
+ * creates a digest of the processor inputs, i.e. the OpenAPI document (including all documents it
+ * references by `$ref`), the mapping, the parser, the other processor options and the processor
+ * version. If the digest did not change, the generated sources will not change.
+ *
+ * The digest is content-addressed: it uses the content of the documents & mapping and the
+ * location of the documents relative to the OpenAPI document. It does not change if the project
+ * moves to another folder or machine, so build tools can use it as (remote) build cache key and
+ * skip the processor on a key hit. Together with the `reproducible` option the generated sources
+ * are byte-identical for the same key.
+ *
+ * @param processorVersion version of the processor (i.e. the framework processor) that uses core.
+ */
+class InputDigest(private val processorVersion: String) {
+
+    companion object {
+        /**
+         * processor options that are part of the digest by content, or that do not change the
+         * generated sources.
+         */
+        private val IGNORED_OPTIONS = setOf("apiPath", "mapping", "typeMappings", "parser", "targetDir")
+    }
+
+    /**
+     * create the digest of the processor inputs.
+     *
+     * @param processorOptions the processor options, i.e. `apiPath`, `mapping` and `parser`.
+     * @return the hex digest, or null if the inputs can't be hashed, e.g. if the OpenAPI document
+     * references a remote document.
+     */
+    fun digest(processorOptions: Map<String, *>): String? {
+        val apiPath = processorOptions["apiPath"]?.toString() ?: return null
+        val documents = DocumentCollector().collect(toURI(apiPath)) ?: return null
+
+        val md = createDigest()
+        md.add("core", Version.version)
+        md.add("processor", processorVersion)
+        md.add("parser", processorOptions["parser"]?.toString() ?: "")
+
+        listOf("mapping", "typeMappings").forEach { key ->
+            val source = processorOptions[key]?.toString()
+            if (!source.isNullOrEmpty()) {
+                md.add(key, MappingReader().readText(source))
+            }
+        }
+
+        processorOptions.entries
+            .filter { it.key !in IGNORED_OPTIONS }
+            .sortedBy { it.key }
+            .forEach { (key, value) ->
+                md.add("option:$key", value?.toString() ?: "")
+            }
+
+        val root = toURI(apiPath)
+        documents.entries
+            .map { (uri, content) -> relativize(root, uri) to content }
+            .sortedBy { it.first }
+            .forEach { (location, content) ->
+                md.add("document", location)
+                md.add(content)
+            }
+
+        return md.digest().toHex()
+    }
+
+    /**
+     * location of a document relative to the root document, e.g. `schemas/foo.yaml` or
+     * `../common.yaml`. Non-file documents use their absolute uri.
+     */
+    private fun relativize(root: URI, document: URI): String {
+        if (root.scheme != "file" || document.scheme != "file")
+            return document.toString()
+
+        return Paths.get(root).parent
+            .relativize(Paths.get(document))
+            .joinToString("/")
+    }
+
+    private fun MessageDigest.add(key: String, value: String) {
+        add(key.toByteArray())
+        add(value.toByteArray())
+    }
+
+    private fun MessageDigest.add(value: ByteArray) {
+        update(ByteBuffer.allocate(4).putInt(value.size).array())
+        update(value)
+    }
+}
@@ -6,6 +6,7 @@
 package io.openapiprocessor.core.processor
 
 import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.MapperFeature
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.PropertyNamingStrategies
@@ -14,6 +15,7 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper
 import com.fasterxml.jackson.module.kotlin.KotlinFeature
 import com.fasterxml.jackson.module.kotlin.KotlinModule
+import io.openapiprocessor.core.metrics.jfr.Jfr
 import io.openapiprocessor.core.processor.mapping.v1.Mapping
 import io.openapiprocessor.core.processor.mapping.MappingVersion
 import io.openapiprocessor.core.processor.mapping.v1.Parameter
@@ -39,20 +41,15 @@ class MappingReader(private val validator: MappingValidator = MappingValidator()
             return null
         }
 
-        val mapping: String = when {
-            isUrl (typeMappings) -> {
-                URL (typeMappings).readText()
-            }
-            isFileName (typeMappings) -> {
-                File (typeMappings).readText()
-            }
-            else -> {
-                typeMappings
-            }
+        return Jfr.measureMapping("read") {
+            readMapping(typeMappings)
         }
+    }
+
+    private fun readMapping(typeMappings: String): MappingVersion {
+        val mapping: JsonNode = treeMapper.readTree(readText(typeMappings))
 
-        val versionMapper = createVersionParser ()
-        val version = versionMapper.readValue (mapping, VersionMapping::class.java)
+        val version = versionMapper.treeToValue (mapping, VersionMapping::class.java)
 
         if (version.isDeprecatedVersionKey ()) {
             log.warn ("the mapping version key \"openapi-processor-spring\" is deprecated, please use \"openapi-processor-mapping\"")
@@ -61,62 +58,45 @@ class MappingReader(private val validator: MappingValidator = MappingValidator()
         if (version.isV2()) {
             validate(mapping, version.getSafeVersion())
 
-            val mapper = createV2Parser()
-            return mapper.readValue (mapping, MappingV2::class.java)
+            return v2Mapper.treeToValue (mapping, MappingV2::class.java)
         } else {
             // assume v1
             log.info ("please update the mapping to the latest format")
             log.info ("see https://openapiprocessor.io/spring/mapping/structure.html")
 
-            val mapper = createV1Parser ()
-            return mapper.readValue (mapping, Mapping::class.java)
+            return v1Mapper.treeToValue (mapping, Mapping::class.java)
         }
     }
 
-    private fun validate(mapping: String, version: String) {
-        validator.validate(mapping, version).forEach {
-            log.warn(it.message)
+    /**
+     * get the mapping yaml. The mapping source is either an url, a file name or the mapping yaml
+     * itself.
+     *
+     * @param typeMappings the mapping source
+     * @return the mapping yaml
+     */
+    fun readText(typeMappings: String): String {
+        return when {
+            isUrl (typeMappings) -> {
+                URL (typeMappings).readText()
+            }
+            isFileName (typeMappings) -> {
+                File (typeMappings).readText()
+            }
+            else -> {
+                typeMappings
+            }
         }
     }
 
-    private fun createV2Parser(): ObjectMapper {
-        val module = SimpleModule()
-        module.addDeserializer (ParameterV2::class.java, ParameterDeserializerV2 ())
-
-        val kotlinModule = KotlinModule.Builder()
-            .configure(KotlinFeature.NullIsSameAsDefault, true)
-            .build ()
-
-        return YAMLMapper.builder(YAMLFactory())
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS, true)
-            .build()
-            .setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
-            .registerModules(kotlinModule, module)
-    }
-
-    private fun createV1Parser(): ObjectMapper {
-        val module = SimpleModule ()
-        module.addDeserializer (Parameter::class.java, ParameterDeserializer ())
-
-        val kotlinModule = KotlinModule.Builder()
-            .configure(KotlinFeature.NullIsSameAsDefault, true)
-            .build ()
-
-        return ObjectMapper (YAMLFactory ())
-            .configure (DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .setPropertyNamingStrategy (PropertyNamingStrategies.KEBAB_CASE)
-            .registerModules(kotlinModule, module)
-    }
-
-    private fun createVersionParser(): ObjectMapper {
-        val kotlinModule = KotlinModule.Builder()
-            .build ()
+    private fun validate(mapping: JsonNode, version: String) {
+        val messages = Jfr.measureMapping("validate") {
+            validator.validate(mapping, version)
+        }
 
-        return ObjectMapper (YAMLFactory ())
-            .configure (DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .setPropertyNamingStrategy (PropertyNamingStrategies.KEBAB_CASE)
-            .registerModule (kotlinModule)
+        messages.forEach {
+            log.warn(it.message)
+        }
     }
 
     private fun isFileName(name: String): Boolean {
@@ -132,4 +112,54 @@ class MappingReader(private val validator: MappingValidator = MappingValidator()
         }
     }
 
+    companion object {
+        /**
+         * the mappers are thread-safe after configuration, so they are created only once.
+         */
+        private val treeMapper: ObjectMapper = ObjectMapper (YAMLFactory ())
+        private val versionMapper: ObjectMapper = createVersionParser ()
+        private val v2Mapper: ObjectMapper = createV2Parser ()
+        private val v1Mapper: ObjectMapper = createV1Parser ()
+
+        private fun createV2Parser(): ObjectMapper {
+            val module = SimpleModule()
+            module.addDeserializer (ParameterV2::class.java, ParameterDeserializerV2 ())
+
+            val kotlinModule = KotlinModule.Builder()
+                .configure(KotlinFeature.NullIsSameAsDefault, true)
+                .build ()
+
+            return YAMLMapper.builder(YAMLFactory())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS, true)
+                .build()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
+                .registerModules(kotlinModule, module)
+        }
+
+        private fun createV1Parser(): ObjectMapper {
+            val module = SimpleModule ()
+            module.addDeserializer (Parameter::class.java, ParameterDeserializer ())
+
+            val kotlinModule = KotlinModule.Builder()
+                .configure(KotlinFeature.NullIsSameAsDefault, true)
+                .build ()
+
+            return ObjectMapper (YAMLFactory ())
+                .configure (DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .setPropertyNamingStrategy (PropertyNamingStrategies.KEBAB_CASE)
+                .registerModules(kotlinModule, module)
+        }
+
+        private fun createVersionParser(): ObjectMapper {
+            val kotlinModule = KotlinModule.Builder()
+                .build ()
+
+            return ObjectMapper (YAMLFactory ())
+                .configure (DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .setPropertyNamingStrategy (PropertyNamingStrategies.KEBAB_CASE)
+                .registerModule (kotlinModule)
+        }
+    }
+
 }
@@ -5,8 +5,10 @@
 
 package io.openapiprocessor.core.processor
 
+import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory
+import com.networknt.schema.JsonSchema
 import com.networknt.schema.JsonSchemaException
 import com.networknt.schema.JsonSchemaFactory
 import com.networknt.schema.SpecVersion
@@ -16,9 +18,11 @@ import com.networknt.schema.ValidationMessage
 //import io.openapiparser.schema.*
 //import io.openapiparser.validator.Validator
 //import io.openapiparser.validator.ValidatorSettings
+import io.openapiprocessor.core.support.measureLoading
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import java.io.InputStream
+import java.util.concurrent.ConcurrentHashMap
 //import java.net.URI
 
 /**
@@ -58,20 +62,44 @@ open class MappingValidator {
 //
 //        return emptySet()
 
-        return try {
-            val mapper = ObjectMapper(YAMLFactory())
-            val node = mapper.readTree(mapping)
+        return validate(mapper.readTree(mapping), version)
+    }
 
-            val factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7)
-            val schema = factory.getSchema(getSchema(version))
+    /**
+     * validate the already parsed mapping.
+     *
+     * @param mapping the mapping yaml tree
+     * @param version the mapping version
+     * @return the validation messages
+     */
+    fun validate(mapping: JsonNode, version: String): Set<ValidationMessage> {
+        return try {
+            val schema = schemas.computeIfAbsent(version) {
+                measureLoading(log, "mapping schema $it") {
+                    getSchema(it).use { stream -> factory.getSchema(stream) }
+                }
+            }
 
-            schema.validate(node)
+            schema.validate(mapping)
         } catch (ex: JsonSchemaException) {
             log.error("failed to validate mapping!", ex)
             emptySet()
         }
     }
 
+    companion object {
+        private val mapper = ObjectMapper(YAMLFactory())
+
+        // created on first use, i.e. the json schema validator is not loaded without a mapping
+        private val factory by lazy { JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7) }
+
+        /**
+         * the compiled mapping schemas by mapping version. The schemas are immutable and
+         * thread-safe, so they are shared by all validators.
+         */
+        private val schemas = ConcurrentHashMap<String, JsonSchema>()
+    }
+
 //    private fun getSchema(): InputStream {
 //        return this.javaClass.getResourceAsStream("/mapping/v2/mapping.flat.yaml.json")!!
 //    }
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.processor.mapping.v2
+
+/**
+ * the "include-endpoints:" & "exclude-endpoints:" options
+ */
+data class EndpointSelection(
+
+    /**
+     * endpoint tags
+     */
+    val tags: List<String> = emptyList(),
+
+    /**
+     * path prefixes or path globs
+     */
+    val paths: List<String> = emptyList(),
+
+    /**
+     * endpoint operation ids
+     */
+    val operationIds: List<String> = emptyList()
+)
@@ -50,5 +50,70 @@ data class Options(
     /**
      * enable/disable the @Generated date (optional)
      */
-    val generatedDate: Boolean = true
+    val generatedDate: Boolean = true,
+
+    /**
+     * number of threads used to format & write the source files (optional)
+     */
+    val parallelism: Int = 1,
+
+    /**
+     * enable/disable parallel conversion of the endpoints (optional)
+     */
+    val parallelConversion: Boolean = false,
+
+    /**
+     * enable/disable incremental generation (optional)
+     */
+    val incremental: Boolean = false,
+
+    /**
+     * enable/disable writing of unchanged source files (optional)
+     */
+    val writeIfChanged: Boolean = false,
+
+    /**
+     * enable/disable logging of the processing metrics (optional)
+     */
+    val metrics: Boolean = false,
+
+    /**
+     * enable/disable writing the processing metrics to the target folder (optional)
+     */
+    val metricsFile: Boolean = false,
+
+    /**
+     * folder of the formatted source cache (optional)
+     */
+    val formatCache: String? = null,
+
+    /**
+     * maximum size of the formatted source cache in MB (optional)
+     */
+    val formatCacheSize: Int = 100,
+
+    /**
+     * folder of the parser snapshots (optional)
+     */
+    val parserSnapshot: String? = null,
+
+    /**
+     * only process the selected endpoints (optional)
+     */
+    val includeEndpoints: EndpointSelection? = null,
+
+    /**
+     * do not process the selected endpoints (optional)
+     */
+    val excludeEndpoints: EndpointSelection? = null,
+
+    /**
+     * enable/disable reproducible output (optional)
+     */
+    val reproducible: Boolean = false,
+
+    /**
+     * enable/disable deduplication of equal inline schemas (optional)
+     */
+    val deduplicateInlineSchemas: Boolean = false
 )
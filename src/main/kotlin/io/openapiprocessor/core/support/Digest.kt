@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.support
+
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+
+/**
+ * create a new SHA-256 message digest.
+ */
+fun createDigest(): MessageDigest = MessageDigest.getInstance("SHA-256")
+
+/**
+ * SHA-256 hash of the given bytes as hex string.
+ */
+fun sha256(bytes: ByteArray): String = createDigest().digest(bytes).toHex()
+
+/**
+ * SHA-256 hash of the remaining bytes of the given buffer as hex string. It does not change the
+ * position of the buffer.
+ */
+fun sha256(bytes: ByteBuffer): String {
+    val digest = createDigest()
+    digest.update(bytes.duplicate())
+    return digest.digest().toHex()
+}
+
+/**
+ * convert to lowercase hex string.
+ */
+fun ByteArray.toHex(): String {
+    val hex = "0123456789abcdef"
+    val chars = CharArray(size * 2)
+    forEachIndexed { index, byte ->
+        val value = byte.toInt() and 0xff
+        chars[index * 2] = hex[value ushr 4]
+        chars[index * 2 + 1] = hex[value and 0x0f]
+    }
+    return String(chars)
+}
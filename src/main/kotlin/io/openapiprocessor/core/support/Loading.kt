@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.support
+
+import org.slf4j.Logger
+import java.lang.management.ManagementFactory
+
+/**
+ * runs [block] and logs (at debug level) the number of classes it loaded and its duration. It is
+ * used around the first use of a heavy subsystem (e.g. a parser or the formatter) to report its
+ * class loading costs. The duration includes the work done by [block].
+ *
+ * @param log the logger
+ * @param name the subsystem name
+ * @param block the first use of the subsystem
+ * @return the result of [block]
+ */
+inline fun <T> measureLoading(log: Logger, name: String, block: () -> T): T {
+    if (!log.isDebugEnabled)
+        return block()
+
+    val classLoading = ManagementFactory.getClassLoadingMXBean()
+    val classes = classLoading.totalLoadedClassCount
+    val start = System.nanoTime()
+
+    val result = block()
+
+    log.debug("{}: loaded {} classes in {} ms",
+        name,
+        classLoading.totalLoadedClassCount - classes,
+        (System.nanoTime() - start) / 1_000_000)
+
+    return result
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.support
+
+/**
+ * simple thread-safe, size bounded, least recently used cache.
+ *
+ * The cache does not lock while it creates a value, i.e. concurrent misses of the same key may
+ * create the value more than once. It is meant for values that are expensive to create but
+ * cheap to create twice.
+ */
+class LruCache<K, V>(private val maxSize: Int) {
+
+    private val entries = object: LinkedHashMap<K, V>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<K, V>?): Boolean {
+            return size > maxSize
+        }
+    }
+
+    /**
+     * get the cached value of [key], or create & cache it.
+     */
+    fun get(key: K, create: (K) -> V): V {
+        val cached = synchronized(entries) { entries[key] }
+        if (cached != null)
+            return cached
+
+        val created = create(key)
+        synchronized(entries) {
+            entries[key] = created
+        }
+        return created
+    }
+
+    val size: Int
+        get() = synchronized(entries) { entries.size }
+
+    fun clear() {
+        synchronized(entries) { entries.clear() }
+    }
+}
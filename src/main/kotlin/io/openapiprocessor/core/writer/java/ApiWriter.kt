@@ -8,20 +8,30 @@ package io.openapiprocessor.core.writer.java
 import com.google.googlejavaformat.java.Formatter
 import com.google.googlejavaformat.java.JavaFormatterOptions
 import io.openapiprocessor.core.converter.ApiOptions
+import io.openapiprocessor.core.metrics.MetricsCollector
+import io.openapiprocessor.core.metrics.jfr.Jfr
 import io.openapiprocessor.core.model.Api
-import io.openapiprocessor.core.model.Interface
-import io.openapiprocessor.core.model.datatypes.InterfaceDataType
-import io.openapiprocessor.core.model.datatypes.StringEnumDataType
-import io.openapiprocessor.core.model.datatypes.ModelDataType
+import io.openapiprocessor.core.support.measureLoading
+import io.openapiprocessor.core.support.sha256
 import io.openapiprocessor.core.support.toURI
-import java.io.BufferedWriter
-import java.io.StringWriter
 import java.io.Writer
 import java.nio.file.Files
 import java.nio.file.Path
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.nio.ByteBuffer
+import java.nio.charset.Charset
+import java.nio.charset.StandardCharsets
 import java.nio.file.Paths
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicInteger
+
+private const val METRICS_FILE = "metrics.json"
 
 /**
  * Root writer for the generated api files.
@@ -36,119 +46,291 @@ class ApiWriter(
 ) {
     private var log: Logger = LoggerFactory.getLogger(this.javaClass.name)
 
+    private lateinit var targetFolder: Path
     private lateinit var apiFolder: Path
     private lateinit var modelFolder: Path
     private lateinit var supportFolder: Path
 
-    private var formatter: Formatter? = null
+    // created on first use, i.e. google-java-format is not loaded if formatCode is disabled
+    private val formatter: Formatter? by lazy { createFormatter() }
+    private val formatCache: FormatCache? by lazy { createFormatCache() }
+
+    private lateinit var manifest: Manifest
+    private val metrics = options.metricsCollector
+    private val written = ConcurrentHashMap<String, String>()
 
-    init {
-        initFormatter()
+    /**
+     * the generated sources use the platform encoding, or UTF-8 if the output is reproducible.
+     */
+    private val charset: Charset = if (options.reproducible) {
+        StandardCharsets.UTF_8
+    } else {
+        Charset.defaultCharset()
     }
+    private val buffers = ThreadLocal.withInitial { SourceBuffer(charset) }
 
     fun write(api: Api) {
-        createTargetFolders()
-        writeGenerated()
-        writeInterfaces(api)
-        writeObjectDataTypes(api)
-        writeInterfaceDataTypes(api)
-        writeEnumDataTypes(api)
+        metrics.measure(MetricsCollector.WRITE) {
+            createTargetFolders()
+            readManifest()
+            writeGenerated()
+
+            if (options.parallelism > 1) {
+                writeParallel(api, options.parallelism)
+            } else {
+                writeSources(api) { it() }
+            }
+
+            writeManifest()
+            formatCache?.evict()
+        }
+
+        writeMetrics()
+    }
+
+    private fun writeSources(api: Api, submit: (task: () -> Unit) -> Unit) {
+        writeInterfaces(api, submit)
+        writeObjectDataTypes(api, submit)
+        writeInterfaceDataTypes(api, submit)
+        writeEnumDataTypes(api, submit)
+    }
+
+    /**
+     * formats & writes the source files on a fixed size thread pool. Each file is written by a
+     * single task, so the output is the same as writing them sequentially. If any task fails, the
+     * exception of the first failed task (in submit order) is re-thrown.
+     */
+    private fun writeParallel(api: Api, parallelism: Int) {
+        log.debug("writing source files with {} threads", parallelism)
+
+        val executor = Executors.newFixedThreadPool(parallelism, WriterThreadFactory())
+        try {
+            val tasks = mutableListOf<Future<Unit>>()
+            writeSources(api) { task ->
+                tasks.add(executor.submit(Callable { task() }))
+            }
+
+            tasks.forEach { await(it) }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    private fun await(task: Future<Unit>) {
+        try {
+            task.get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        }
+    }
+
+    private class WriterThreadFactory: ThreadFactory {
+        private val count = AtomicInteger()
+
+        override fun newThread(runnable: Runnable): Thread {
+            val thread = Thread(runnable, "openapi-processor-writer-${count.incrementAndGet()}")
+            thread.isDaemon = true
+            return thread
+        }
     }
 
     private fun writeGenerated () {
         val target = supportFolder.resolve("Generated.java")
-        val writer = BufferedWriter(PathWriter(target))
-        writeGenerated(writer)
-        writer.close()
+        writeSource(target) { writer -> generatedWriter.writeSource(writer) }
     }
 
-    private fun writeInterfaces(api: Api) {
+    private fun writeInterfaces(api: Api, submit: (task: () -> Unit) -> Unit) {
         api.forEachInterface {
-            val target = apiFolder.resolve("${it.getInterfaceName()}.java")
-            val writer = BufferedWriter(PathWriter(target))
-            writeInterface(writer, it)
-            writer.close()
+            submit {
+                val target = apiFolder.resolve("${it.getInterfaceName()}.java")
+                writeSource(target) { writer -> interfaceWriter.write(writer, it) }
+            }
         }
     }
 
-    private fun writeObjectDataTypes(api: Api) {
+    private fun writeObjectDataTypes(api: Api, submit: (task: () -> Unit) -> Unit) {
         api.forEachModelDataType {
-            val target = modelFolder.resolve ("${it.getTypeName()}.java")
-            val writer = BufferedWriter(PathWriter(target))
-            writeDataType(writer, it)
-            writer.close()
+            submit {
+                val target = modelFolder.resolve ("${it.getTypeName()}.java")
+                writeSource(target) { writer -> dataTypeWriter.write(writer, it) }
+            }
         }
     }
 
-    private fun writeInterfaceDataTypes(api: Api) {
+    private fun writeInterfaceDataTypes(api: Api, submit: (task: () -> Unit) -> Unit) {
         api.forEachInterfaceDataType {
-            val target = modelFolder.resolve ("${it.getTypeName()}.java")
-            val writer = BufferedWriter(PathWriter(target))
-            writeDataType(writer, it)
-            writer.close()
+            submit {
+                val target = modelFolder.resolve ("${it.getTypeName()}.java")
+                writeSource(target) { writer -> interfaceDataTypeWriter.write(writer, it) }
+            }
         }
     }
 
-    private fun writeEnumDataTypes(api: Api) {
+    private fun writeEnumDataTypes(api: Api, submit: (task: () -> Unit) -> Unit) {
         api.forEachEnumDataType {
-            val target = modelFolder.resolve("${it.getTypeName()}.java")
-            val writer = BufferedWriter(PathWriter(target))
-            writeEnumDataType(writer, it)
-            writer.close()
+            submit {
+                val target = modelFolder.resolve("${it.getTypeName()}.java")
+                writeSource(target) { writer -> enumWriter.write(writer, it) }
+            }
         }
     }
 
-    private fun writeInterface(writer: Writer, itf: Interface) {
-        val raw = StringWriter()
-        interfaceWriter.write(raw, itf)
-        writer.write(format(raw.toString()))
+    /**
+     * renders, formats and writes a source file. All steps use the same (per thread) source
+     * buffer, only the formatter needs a String copy of the source.
+     *
+     * @param target the source file
+     * @param render renders the (unformatted) source
+     */
+    private fun writeSource(target: Path, render: (writer: Writer) -> Unit) {
+        val file = getRelativePath(target)
+        val event = Jfr.beginSourceFile(file)
+
+        val source = buffers.get()
+        source.reset()
+
+        metrics.measure(MetricsCollector.RENDER, file) {
+            render(source)
+        }
+        event?.rendered()
+
+        metrics.measure(MetricsCollector.FORMAT, file) {
+            format(source)
+        }
+        event?.formatted(options.formatCode)
+
+        val bytes = metrics.measure(MetricsCollector.IO, file) {
+            val content = source.encode()
+            val size = content.remaining()
+            writeFile(target, file, content)
+            size
+        }
+        event?.written(bytes.toLong())
     }
 
-    private fun writeDataType(writer: Writer, dataType: ModelDataType) {
-        val raw = StringWriter()
-        dataTypeWriter.write(raw, dataType)
-        writer.write(format(raw.toString ()))
+    private fun writeFile(target: Path, file: String, content: ByteBuffer) {
+        if (options.incremental) {
+            val hash = sha256(content)
+            written[file] = hash
+
+            // the file on disk may differ from the manifest, e.g. if it was edited
+            if (manifest.files[file] == hash) {
+                if (!writeIfChanged(target, content)) {
+                    log.debug("unchanged {}", file)
+                }
+                return
+            }
+        }
+
+        if (options.writeIfChanged) {
+            if (!writeIfChanged(target, content)) {
+                log.debug("unchanged {}", target)
+            }
+            return
+        }
+
+        writeContent(target, content)
     }
 
-    private fun writeDataType(writer: Writer, dataType: InterfaceDataType) {
-        val raw = StringWriter()
-        interfaceDataTypeWriter.write(raw, dataType)
-        writer.write(format(raw.toString ()))
+    private fun readManifest() {
+        written.clear()
+
+        manifest = if (options.incremental) {
+            Manifest.read(getTargetDir())
+        } else {
+            Manifest()
+        }
     }
 
-    private fun writeEnumDataType(writer: Writer, enumDataType: StringEnumDataType) {
-        val raw = StringWriter()
-        enumWriter.write(raw, enumDataType)
-        writer.write(format(raw.toString()))
+    /**
+     * deletes the files of the previous run that were not written by this run and stores the new
+     * manifest. It does not delete files outside the target folder, i.e. a (hand-edited or broken)
+     * manifest with `../` or absolute paths is ignored.
+     */
+    private fun writeManifest() {
+        if (!options.incremental)
+            return
+
+        val targetDir = getTargetDir()
+        val normalizedTargetDir = targetDir.toAbsolutePath().normalize()
+        manifest.files.keys
+            .filterNot { written.containsKey(it) }
+            .forEach {
+                val obsolete = normalizedTargetDir.resolve(it).normalize()
+                if (!obsolete.startsWith(normalizedTargetDir)) {
+                    log.warn("manifest: skipping obsolete {}, it is outside of the target folder", it)
+                    return@forEach
+                }
+
+                log.debug("deleting obsolete {}", it)
+                Files.deleteIfExists(obsolete)
+            }
+
+        Manifest(options.inputDigest, written.toMap()).write(targetDir)
     }
 
-    private fun writeGenerated(writer: Writer) {
-        val raw = StringWriter()
-        generatedWriter.writeSource(raw)
-        writer.write(format(raw.toString()))
+    private fun writeMetrics() {
+        if (options.metrics) {
+            metrics.log()
+        }
+
+        if (options.metricsFile && options.reproducible) {
+            log.info("reproducible output, skipping metrics file")
+        } else if (options.metricsFile) {
+            metrics.write(getTargetDir().resolve(MANIFEST_FOLDER).resolve(METRICS_FILE))
+        }
+
+        // the next run starts with new measurements
+        metrics.finish()
+    }
+
+    /**
+     * the path of the given file relative to the target folder.
+     */
+    private fun getRelativePath(target: Path): String {
+        return targetFolder
+            .relativize(target)
+            .joinToString("/")
+    }
+
+    private fun getTargetDir(): Path {
+        return Manifest.getTargetDir(options.targetDir!!)
     }
 
-    private fun format(raw: String): String {
+    /**
+     * formats the source and puts a line feed before the last closing }. It replaces the content
+     * of the source buffer with the formatted source.
+     */
+    private fun format(source: SourceBuffer) {
+        if (!options.formatCode)
+            return
+
+        val formatter = formatter ?: return
+
+        val raw = source.toString()
         try {
-            if (formatter == null) {
-                return raw
-            }
+            val formatted = format(formatter, raw)
+            val index = formatted.lastIndexOf("}")
 
-            return correctLineFeed(formatter!!.formatSource(raw))
+            source.reset()
+            source.append(formatted, 0, index)
+            source.append("\n}\n")
         } catch (e: Exception) {
             throw FormattingException(raw, e)
         }
     }
 
-    // put line feed before last closing }
-    private fun correctLineFeed(formatted: String): String {
-        val index = formatted.lastIndexOf("}")
+    private fun format(formatter: Formatter, raw: String): String {
+        val cache = formatCache ?: return formatter.formatSource(raw)
 
-        return StringBuilder()
-            .append(formatted.substring(0, index))
-            .append("\n}\n")
-            .toString()
-      }
+        val cached = cache.get(raw)
+        if (cached != null)
+            return cached
+
+        val formatted = formatter.formatSource(raw)
+        cache.put(raw, formatted)
+        return formatted
+    }
 
     private fun createTargetFolders() {
         val rootPkg = options.packageName.replace(".", "/")
@@ -157,6 +339,8 @@ class ApiWriter(
         val supportPkg = listOf(rootPkg, "support").joinToString("/")
         log.debug ("creating target folders: {}", rootPkg)
 
+        targetFolder = getTargetDir()
+
         apiFolder = createTargetPackage(apiPkg)
         log.debug ("created target folder: {}", apiFolder.toAbsolutePath ().toString ())
 
@@ -176,9 +360,12 @@ class ApiWriter(
         return target
     }
 
-    private fun initFormatter() {
-        if (options.formatCode) {
-            formatter = Formatter(
+    private fun createFormatter(): Formatter? {
+        if (!options.formatCode)
+            return null
+
+        return measureLoading(log, "google-java-format") {
+            Formatter(
                 JavaFormatterOptions
                     .builder()
                     .style(JavaFormatterOptions.Style.AOSP)
@@ -186,4 +373,15 @@ class ApiWriter(
         }
     }
 
+    private fun createFormatCache(): FormatCache? {
+        if (!options.formatCode)
+            return null
+
+        val cache = options.formatCache ?: return null
+
+        return FormatCache(
+            Paths.get(toURI(cache)),
+            options.formatCacheSize * 1024L * 1024L)
+    }
+
 }
@@ -7,12 +7,33 @@ package io.openapiprocessor.core.writer.java
 
 import io.openapiprocessor.core.model.datatypes.*
 import org.apache.commons.text.StringEscapeUtils.escapeJava
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * creates bean validation imports and annotations.
+ *
+ * The writers of a processor run share the factory. It creates the [BeanValidationInfo] of a
+ * data type & required flag only once, i.e. the import collection and the rendering of a
+ * parameter or property use the same info.
  */
 open class BeanValidationFactory {
 
+    /**
+     * key of a data type by identity.
+     */
+    private class InfoKey(val dataType: DataType, val required: Boolean) {
+
+        override fun equals(other: Any?): Boolean {
+            return other is InfoKey && other.dataType === dataType && other.required == required
+        }
+
+        override fun hashCode(): Int {
+            return 31 * System.identityHashCode(dataType) + required.hashCode()
+        }
+    }
+
+    private val infos = ConcurrentHashMap<InfoKey, BeanValidationInfo>()
+
     /**
      * override to add annotations to the model object class.
      */
@@ -21,6 +42,18 @@ open class BeanValidationFactory {
     }
 
     fun validate(dataType: DataType, required: Boolean = false): BeanValidationInfo {
+        val key = InfoKey(dataType, required)
+
+        val info = infos[key]
+        if (info != null)
+            return info
+
+        // not computeIfAbsent(), it is recursive for collections
+        val created = createInfo(dataType, required)
+        return infos.putIfAbsent(key, created) ?: created
+    }
+
+    private fun createInfo(dataType: DataType, required: Boolean): BeanValidationInfo {
         return if (dataType is CollectionDataType) {
             BeanValidationInfoCollection(
                 dataType,
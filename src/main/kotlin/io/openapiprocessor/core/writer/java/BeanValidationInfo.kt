@@ -25,19 +25,21 @@ class BeanValidationInfoSimple(
     override val annotations: List<Annotation>
 ): BeanValidationInfo {
 
-    override val prop: BeanValidationValue
-        get() = BeanValidationValue(
+    override val prop: BeanValidationValue by lazy {
+        BeanValidationValue(
             dataType.getTypeName(),
             annotationImports,
             annotationValues
         )
+    }
 
-    override val inout: BeanValidationValue
-        get() = BeanValidationValue(
+    override val inout: BeanValidationValue by lazy {
+        BeanValidationValue(
             dataTypeWithAnnotations,
             annotationImports,
             emptyList()
         )
+    }
 
     private val annotationImports: Set<String>
         get() = annotations.map { it.import }.toSet()
@@ -60,91 +62,89 @@ class BeanValidationInfoCollection(
     val item: BeanValidationInfo
 ): BeanValidationInfo {
 
-    override val prop: BeanValidationValue
-        get() {
-            dataType as CollectionDataType
+    override val prop: BeanValidationValue by lazy {
+        dataType as CollectionDataType
+
+        if (item.dataType is ModelDataType) {
+            val allImports = mutableSetOf<String>()
+            allImports.addAll(annotationImports)
+            allImports.addAll(itemAnnotationImports)
+
+            val collectionAnnotations = mutableListOf<String>()
+            collectionAnnotations.addAll(annotationValues)
+
+            val itemAnnotations = mutableSetOf<String>()
+            itemAnnotations.addAll(itemAnnotationValues)
 
-            return if (item.dataType is ModelDataType) {
-                val allImports = mutableSetOf<String>()
-                allImports.addAll(annotationImports)
+            BeanValidationValue(
+                dataType.getTypeName(emptySet(), itemAnnotations),
+                allImports,
+                collectionAnnotations
+            )
+        } else {
+            val allImports = mutableSetOf<String>()
+            allImports.addAll(annotationImports)
+
+            if (dataType !is ArrayDataType) {
                 allImports.addAll(itemAnnotationImports)
+            }
 
-                val collectionAnnotations = mutableListOf<String>()
-                collectionAnnotations.addAll(annotationValues)
+            val collectionAnnotations = mutableListOf<String>()
+            collectionAnnotations.addAll(annotationValues)
 
-                val itemAnnotations = mutableSetOf<String>()
+            val itemAnnotations = mutableSetOf<String>()
+            if (dataType !is ArrayDataType) {
                 itemAnnotations.addAll(itemAnnotationValues)
-
-                BeanValidationValue(
-                    dataType.getTypeName(emptySet(), itemAnnotations),
-                    allImports,
-                    collectionAnnotations
-                )
-            } else {
-                val allImports = mutableSetOf<String>()
-                allImports.addAll(annotationImports)
-
-                if (dataType !is ArrayDataType) {
-                    allImports.addAll(itemAnnotationImports)
-                }
-
-                val collectionAnnotations = mutableListOf<String>()
-                collectionAnnotations.addAll(annotationValues)
-
-                val itemAnnotations = mutableSetOf<String>()
-                if (dataType !is ArrayDataType) {
-                    itemAnnotations.addAll(itemAnnotationValues)
-                }
-
-                BeanValidationValue(
-                    dataType.getTypeName(emptySet(), itemAnnotations),
-                    allImports,
-                    collectionAnnotations
-                )
             }
+
+            BeanValidationValue(
+                dataType.getTypeName(emptySet(), itemAnnotations),
+                allImports,
+                collectionAnnotations
+            )
         }
+    }
 
-    override val inout: BeanValidationValue
-        get() {
-            val cdt = dataType as CollectionDataType
+    override val inout: BeanValidationValue by lazy {
+        val cdt = dataType as CollectionDataType
+
+        if (item.dataType is ModelDataType) {
+            val allImports = mutableSetOf<String>()
+            allImports.addAll(annotationImports)
+            allImports.addAll(itemAnnotationImports)
+
+            val collectionAnnotations = mutableSetOf<String>()
+            collectionAnnotations.addAll(annotationValues)
+
+            val itemAnnotations = mutableSetOf<String>()
+            itemAnnotations.addAll(itemAnnotationValues)
 
-            return if (item.dataType is ModelDataType) {
-                val allImports = mutableSetOf<String>()
-                allImports.addAll(annotationImports)
+            BeanValidationValue(
+                cdt.getTypeName(collectionAnnotations, itemAnnotations),
+                allImports,
+                emptyList())
+        } else {
+            val allImports = mutableSetOf<String>()
+            allImports.addAll(annotationImports)
+
+            if (dataType !is ArrayDataType) {
                 allImports.addAll(itemAnnotationImports)
+            }
 
-                val collectionAnnotations = mutableSetOf<String>()
-                collectionAnnotations.addAll(annotationValues)
+            val colAnnotations = mutableSetOf<String>()
+            colAnnotations.addAll(annotationValues)
 
-                val itemAnnotations = mutableSetOf<String>()
+            val itemAnnotations = mutableSetOf<String>()
+            if (dataType !is ArrayDataType) {
                 itemAnnotations.addAll(itemAnnotationValues)
-
-                BeanValidationValue(
-                    cdt.getTypeName(collectionAnnotations, itemAnnotations),
-                    allImports,
-                    emptyList())
-            } else {
-                val allImports = mutableSetOf<String>()
-                allImports.addAll(annotationImports)
-
-                if (dataType !is ArrayDataType) {
-                    allImports.addAll(itemAnnotationImports)
-                }
-
-                val colAnnotations = mutableSetOf<String>()
-                colAnnotations.addAll(annotationValues)
-
-                val itemAnnotations = mutableSetOf<String>()
-                if (dataType !is ArrayDataType) {
-                    itemAnnotations.addAll(itemAnnotationValues)
-                }
-
-                BeanValidationValue(
-                    cdt.getTypeName(colAnnotations, itemAnnotations),
-                    allImports,
-                    emptyList())
             }
+
+            BeanValidationValue(
+                cdt.getTypeName(colAnnotations, itemAnnotations),
+                allImports,
+                emptyList())
         }
+    }
 
     private val annotationImports: Set<String>
         get() = annotations.map { it.import }.toSet()
@@ -54,7 +54,7 @@ class DataTypeWriter(
             }
         }
 
-        val annotationTypeMappings = MappingFinder(apiOptions.typeMappings)
+        val annotationTypeMappings = MappingFinder(apiOptions.mappingIndex)
             .findTypeAnnotations(dataType.getTypeName())
 
         annotationTypeMappings.forEach {
@@ -226,7 +226,7 @@ class DataTypeWriter(
             }
         }
 
-        val annotationTypeMappings = MappingFinder(apiOptions.typeMappings).findTypeAnnotations(
+        val annotationTypeMappings = MappingFinder(apiOptions.mappingIndex).findTypeAnnotations(
             dataType.getTypeName())
 
         annotationTypeMappings.forEach {
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import com.google.googlejavaformat.java.Formatter
+import io.openapiprocessor.core.support.createDigest
+import io.openapiprocessor.core.support.toHex
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import java.io.IOException
+import java.nio.charset.StandardCharsets
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.nio.file.attribute.FileTime
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.stream.Collectors
+
+private const val ENTRY_SUFFIX = ".java"
+private const val TEMP_SUFFIX = ".tmp"
+
+/**
+ * on-disk cache of formatted sources. It maps the hash of the raw (unformatted) source and the
+ * formatter to the formatted source.
+ *
+ * It is safe to share the cache folder between concurrent processor runs: an entry is written to
+ * a temporary file and then moved to its final name, i.e. a reader sees either no entry or a
+ * complete entry. A hit updates the modification time of the entry which is used to evict the
+ * least recently used entries if the cache is larger than [maxSize].
+ */
+class FormatCache(
+
+    /**
+     * the cache folder.
+     */
+    private val folder: Path,
+
+    /**
+     * maximum size of the cache in bytes.
+     */
+    private val maxSize: Long,
+
+    /**
+     * identifies the formatter (and its settings). A different formatter does not see the entries
+     * of another formatter.
+     */
+    private val formatter: String = GOOGLE_JAVA_FORMAT
+) {
+    private val log: Logger = LoggerFactory.getLogger(this.javaClass.name)
+
+    /**
+     * false if the file system of the cache folder does not support atomic moves.
+     */
+    private val atomicMove = AtomicBoolean(true)
+
+    /**
+     * get the formatted source of the given raw source.
+     *
+     * @param raw the raw source
+     * @return the formatted source or null if it is not cached
+     */
+    fun get(raw: String): String? {
+        val entry = getEntry(raw)
+
+        return try {
+            val formatted = String(Files.readAllBytes(entry), StandardCharsets.UTF_8)
+            touch(entry)
+            formatted
+        } catch (e: NoSuchFileException) {
+            null
+        } catch (e: IOException) {
+            log.debug("can't read format cache entry {}", entry, e)
+            null
+        }
+    }
+
+    /**
+     * store the formatted source of the given raw source.
+     *
+     * @param raw the raw source
+     * @param formatted the formatted source
+     */
+    fun put(raw: String, formatted: String) {
+        val entry = getEntry(raw)
+
+        try {
+            Files.createDirectories(folder)
+            val temp = Files.createTempFile(folder, "entry", TEMP_SUFFIX)
+            try {
+                Files.write(temp, formatted.toByteArray(StandardCharsets.UTF_8))
+                move(temp, entry)
+            } finally {
+                Files.deleteIfExists(temp)
+            }
+        } catch (e: IOException) {
+            log.debug("can't write format cache entry {}", entry, e)
+        }
+    }
+
+    /**
+     * move the temporary file to the entry. If the file system does not support atomic moves, it
+     * falls back to a plain move (and warns once). A concurrent reader may then see an incomplete
+     * entry, i.e. it is only safe if the cache folder is not shared.
+     */
+    private fun move(temp: Path, entry: Path) {
+        if (atomicMove.get()) {
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+                return
+            } catch (e: AtomicMoveNotSupportedException) {
+                if (atomicMove.getAndSet(false)) {
+                    log.warn("format cache folder {} does not support atomic moves, using plain moves", folder)
+                }
+            }
+        }
+
+        Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING)
+    }
+
+    /**
+     * delete the least recently used entries until the cache is not larger than [maxSize]. It
+     * also deletes orphaned temporary files of failed runs.
+     */
+    fun evict() {
+        if (!Files.isDirectory(folder))
+            return
+
+        try {
+            val entries = Files.list(folder).use { files ->
+                files.collect(Collectors.toList()).mapNotNull { getEntryInfo(it) }
+            }
+
+            val now = System.currentTimeMillis()
+            entries
+                .filter { it.path.fileName.toString().endsWith(TEMP_SUFFIX) }
+                .filter { now - it.modified > TimeUnit.HOURS.toMillis(1) }
+                .forEach { delete(it.path) }
+
+            val cached = entries
+                .filter { it.path.fileName.toString().endsWith(ENTRY_SUFFIX) }
+                .sortedBy { it.modified }
+
+            var size = cached.sumOf { it.size }
+            cached.forEach {
+                if (size <= maxSize)
+                    return
+
+                delete(it.path)
+                size -= it.size
+            }
+        } catch (e: IOException) {
+            log.debug("can't evict format cache entries in {}", folder, e)
+        }
+    }
+
+    private class EntryInfo(val path: Path, val size: Long, val modified: Long)
+
+    private fun getEntryInfo(path: Path): EntryInfo? {
+        return try {
+            EntryInfo(path, Files.size(path), Files.getLastModifiedTime(path).toMillis())
+        } catch (e: IOException) {
+            // deleted by another run
+            null
+        }
+    }
+
+    private fun getEntry(raw: String): Path {
+        val digest = createDigest()
+        digest.update(formatter.toByteArray(StandardCharsets.UTF_8))
+        digest.update(0)
+        digest.update(raw.toByteArray(StandardCharsets.UTF_8))
+        return folder.resolve(digest.digest().toHex() + ENTRY_SUFFIX)
+    }
+
+    private fun touch(entry: Path) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()))
+        } catch (e: IOException) {
+            // deleted by another run, ignore
+        }
+    }
+
+    private fun delete(path: Path) {
+        try {
+            Files.deleteIfExists(path)
+        } catch (e: IOException) {
+            log.debug("can't delete format cache entry {}", path, e)
+        }
+    }
+
+    companion object {
+        /**
+         * identifies the google-java-format version and the style used by [ApiWriter].
+         */
+        val GOOGLE_JAVA_FORMAT: String = "google-java-format:${getFormatterVersion()}:AOSP"
+
+        private fun getFormatterVersion(): String {
+            val version = Formatter::class.java.`package`?.implementationVersion
+            if (version != null)
+                return version
+
+            // fall back to the jar name, it includes the version
+            val location = Formatter::class.java.protectionDomain?.codeSource?.location
+            return location?.path?.substringAfterLast('/') ?: "unknown"
+        }
+    }
+}
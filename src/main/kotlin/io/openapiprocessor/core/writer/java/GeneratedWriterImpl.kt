@@ -69,7 +69,7 @@ class GeneratedWriterImpl(private val info: GeneratedInfo, private val options:
         writer.write("""value = "${info.generator}"""")
         writer.write(", ")
         writer.write("""version = "${info.version}"""")
-        if (info.date != null) {
+        if (info.date != null && !options.reproducible) {
             writer.write(", ")
             writer.write("""date = "${info.date}"""")
         }
@@ -18,11 +18,11 @@
 
 package io.openapiprocessor.core.writer.java
 
+import io.openapiprocessor.core.support.LruCache
 import io.openapiprocessor.core.support.capitalizeFirstChar
 import java.lang.Character.isJavaIdentifierPart
 import java.lang.Character.isJavaIdentifierStart
 import java.util.*
-import kotlin.collections.ArrayList
 
 /**
  * converts a source string to a valid (camel case) java identifier. One way, ie it is not
@@ -42,7 +42,7 @@ import kotlin.collections.ArrayList
  * @author Martin Hauner
  */
 fun toCamelCase(src: String): String {
-    return joinCamelCase(splitAtWordBreaks(src))
+    return camelCases.get(src) { joinCamelCase(it, false) }
 }
 
 /**
@@ -63,7 +63,7 @@ fun toCamelCase(src: String): String {
  * @author Martin Hauner
  */
 fun toClass(src: String): String {
-    return toCamelCase(src).capitalizeFirstChar()
+    return classes.get(src) { joinCamelCase(it, true) }
 }
 
 /**
@@ -84,141 +84,157 @@ fun toClass(src: String): String {
  * @author Martin Hauner
  */
 fun toEnum(src: String): String {
-    return joinEnum(splitAtWordBreaks(src))
+    val locale = Locale.getDefault()
+    if (!isAsciiUppercase(locale))
+        return joinEnum(src, locale)
+
+    return enums.get(src) { joinEnum(it, locale) }
 }
 
+private const val CACHE_SIZE = 8192
+
+// the same names get converted many times (converter & writers), the results are cached
+private val camelCases = LruCache<String, String>(CACHE_SIZE)
+private val classes = LruCache<String, String>(CACHE_SIZE)
+private val enums = LruCache<String, String>(CACHE_SIZE)
+
 /**
- * joins the given words to a single camel case string.
+ * joins the words of the given string to a single camel case string.
  *
- * The first word is lower case.
+ * The first word is lower case, or capitalized if [capitalizeFirst] is true.
  *
- * @param words a list of words
+ * @param src the source "string"
+ * @param capitalizeFirst capitalize the first word
  * @return a came case string
  *
  * @author Martin Hauner
  */
-private fun joinCamelCase(words: List<String>): String {
-    val sb = StringBuilder()
+private fun joinCamelCase(src: String, capitalizeFirst: Boolean): String {
+    val sb = StringBuilder(src.length)
 
-    words.forEachIndexed { idx, p ->
-        if (idx == 0) {
-            sb.append(p.lowercase())
+    forEachWord(src) { start, end ->
+        val capitalize = sb.isNotEmpty() || capitalizeFirst
+
+        if (isAscii(src, start, end)) {
+            sb.append(if (capitalize) asciiUpper(src[start]) else asciiLower(src[start]))
+            for (idx in start + 1 until end) {
+                sb.append(asciiLower(src[idx]))
+            }
         } else {
-            sb.append(p.lowercase().capitalizeFirstChar())
+            val word = src.substring(start, end).lowercase()
+            sb.append(if (capitalize) word.capitalizeFirstChar() else word)
         }
     }
 
     if (sb.isEmpty()) {
-        return "invalid"
+        return if (capitalizeFirst) "Invalid" else "invalid"
     }
 
     return sb.toString()
 }
 
 /**
- * joins the given words to a single uppercase string separated by underscore.
+ * joins the words of the given string to a single uppercase string separated by underscore.
  *
- * @param words a list of words
+ * @param src the source "string"
+ * @param locale the locale used to uppercase the words
  * @return an uppercase string
  *
  * @author Martin Hauner
  */
-private fun joinEnum(words: List<String>): String {
-    val result = words.joinToString("_") { it.uppercase(Locale.getDefault()) }
+private fun joinEnum(src: String, locale: Locale): String {
+    val sb = StringBuilder(src.length + 8)
 
-    if (result.isEmpty()) {
+    var first = true
+    forEachWord(src) { start, end ->
+        if (!first) {
+            sb.append('_')
+        }
+        first = false
+
+        if (isAscii(src, start, end) && isAsciiUppercase(locale)) {
+            for (idx in start until end) {
+                sb.append(asciiUpper(src[idx]))
+            }
+        } else {
+            sb.append(src.substring(start, end).uppercase(locale))
+        }
+    }
+
+    if (sb.isEmpty()) {
         return "INVALID"
     }
 
-    return result
+    return sb.toString()
 }
 
 /**
- * splits the given string at the word breaks.
+ * splits the given string at the word breaks in a single pass. A word is always a range of the
+ * source string: it starts after a dropped (invalid or underscore) break char or at an upper
+ * case break char and it ends before the next break char.
  *
  * @param src the source "string"
- * @return a list of split words
+ * @param word receives the start (inclusive) and end (exclusive) index of each word
  *
  * @author Martin Hauner
  */
-private fun splitAtWordBreaks(src: String): List<String> {
-    val words = ArrayList<String>()
-    val current = StringBuilder()
-
-    val trimmed = src.trimInvalidStart()
-    trimmed.forEachIndexed { idx, c ->
+private inline fun forEachWord(src: String, word: (start: Int, end: Int) -> Unit) {
+    var begin = 0
+    while (begin < src.length && !isValidStart(src[begin])) {
+        begin++
+    }
 
-        if (idx == 0 || !trimmed.isWordBreak(idx)) {
-            current.append(c)
-            return@forEachIndexed
+    var wordStart = begin
+    for (idx in begin + 1 until src.length) {
+        val c = src[idx]
+        if (!isWordBreak(c) && !isCaseBreak(src[idx - 1], c)) {
+            continue
         }
 
-        if(current.isNotEmpty()) {
-            words.add(current)
-            current.clear()
+        if (idx > wordStart) {
+            word(wordStart, idx)
         }
 
-        current.appendValid(c)
+        wordStart = if (isValid(c)) idx else idx + 1
     }
 
-    if(current.isNotEmpty()) {
-        words.add(current)
+    if (src.length > wordStart) {
+        word(wordStart, src.length)
     }
-
-    return words
 }
 
-private fun ArrayList<String>.add(builder: StringBuilder) {
-    add(builder.toString())
-}
-
-private fun String.trimInvalidStart(): String {
-    return this.trimStart {
-        !isValidStart(it)
+private fun isAscii(src: String, start: Int, end: Int): Boolean {
+    for (idx in start until end) {
+        if (src[idx].code >= 0x80)
+            return false
     }
+    return true
 }
 
-private fun StringBuilder.appendValid(c: Char): StringBuilder {
-    if (isValid(c)) {
-        append(c)
-    }
-    return this
+private fun asciiLower(c: Char): Char {
+    return if (c in 'A'..'Z') c + ('a' - 'A') else c
 }
 
-private fun String.isWordBreak(idx: Int): Boolean {
-    return this.isForcedBreak(idx)
-        || this.isCaseBreak(idx)
+private fun asciiUpper(c: Char): Char {
+    return if (c in 'a'..'z') c - ('a' - 'A') else c
 }
 
-private fun String.isForcedBreak(idx: Int): Boolean {
-    return this[idx].isWordBreak()
+// i.e. not turkish or azerbaijani, where 'i' is not uppercased to 'I'
+private fun isAsciiUppercase(locale: Locale): Boolean {
+    return locale.language != "tr" && locale.language != "az"
 }
 
 // detect existing camel case word breaks
-private fun String.isCaseBreak(idx: Int): Boolean {
-    if (idx == 0)
-        return false
-
-    val prev = this[idx - 1]
-    val curr = this[idx]
-
+private fun isCaseBreak(prev: Char, curr: Char): Boolean {
     return prev.isLowerCase()
         && curr.isUpperCase()
 }
 
-private fun Char.isNoWordBreak(): Boolean {
-    return !isWordBreak()
-}
-
-private fun Char.isWordBreak(): Boolean {
-    return isWordBreakChar(this)
-        || !isJavaIdentifierPart(this)
+private fun isWordBreak(c: Char): Boolean {
+    return isWordBreakChar(c)
+        || !isJavaIdentifierPart(c)
 }
 
-private val INVALID_WORD_BREAKS = listOf(' ', '-')
-private val VALID_WORD_BREAKS = listOf('_')
-
-
 private fun isValid(c: Char): Boolean {
     return isJavaIdentifierPart(c) && !isValidWordBreak(c)
 }
@@ -232,9 +248,9 @@ private fun isWordBreakChar(c: Char): Boolean {
 }
 
 private fun isValidWordBreak(c: Char): Boolean {
-    return VALID_WORD_BREAKS.contains(c)
+    return c == '_'
 }
 
 private fun isInvalidWordBreak(c: Char): Boolean {
-    return INVALID_WORD_BREAKS.contains(c)
+    return c == ' ' || c == '-'
 }
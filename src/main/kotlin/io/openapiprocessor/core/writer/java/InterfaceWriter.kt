@@ -94,7 +94,7 @@ class InterfaceWriter(
             imports.addAll(parameter.annotationDataType.getImports())
         }
 
-        val annotationTypeMappings = MappingFinder(apiOptions.typeMappings).findParameterAnnotations(
+        val annotationTypeMappings = MappingFinder(apiOptions.mappingIndex).findParameterAnnotations(
             endpoint.path, endpoint.method, parameter.dataType.getTypeName())
 
         annotationTypeMappings.forEach {
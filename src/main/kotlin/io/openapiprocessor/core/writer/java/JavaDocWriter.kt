@@ -9,6 +9,8 @@ import io.openapiprocessor.core.model.Endpoint
 import io.openapiprocessor.core.model.EndpointResponse
 import io.openapiprocessor.core.model.datatypes.DataType
 import io.openapiprocessor.core.model.datatypes.ModelDataType
+import io.openapiprocessor.core.support.LruCache
+import io.openapiprocessor.core.support.measureLoading
 import org.commonmark.node.Document
 import org.commonmark.node.Node
 import org.commonmark.node.Paragraph
@@ -17,6 +19,8 @@ import org.commonmark.renderer.NodeRenderer
 import org.commonmark.renderer.html.CoreHtmlNodeRenderer
 import org.commonmark.renderer.html.HtmlNodeRendererContext
 import org.commonmark.renderer.html.HtmlRenderer
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
 
 /**
  * Do not wrap the top level items in (unwanted) paragraphs.
@@ -39,119 +43,159 @@ class SkipParentWrapperParagraphsRenderer(val context: HtmlNodeRendererContext)
 
 /**
  * create javadoc from OpenAPI descriptions.
+ *
+ * All writers share the (thread-safe) markdown parser & renderer and a cache of the rendered
+ * descriptions. The same description usually appears at many places of an OpenAPI document.
  */
 open class JavaDocWriter {
 
-    val parser: Parser = Parser
-        .builder()
-        .build()
+    companion object {
+        private const val CACHE_SIZE = 4096
 
-    val renderer: HtmlRenderer = HtmlRenderer
-        .builder()
-        .nodeRendererFactory { context -> SkipParentWrapperParagraphsRenderer(context) }
-        .build()
+        private val log: Logger = LoggerFactory.getLogger(JavaDocWriter::class.java.name)
+
+        // parser & renderer are created on first use, i.e. commonmark is not loaded if there is
+        // no description
+        private val sharedParser: Parser by lazy {
+            measureLoading(log, "commonmark") {
+                Parser
+                    .builder()
+                    .build()
+            }
+        }
+
+        private val sharedRenderer: HtmlRenderer by lazy {
+            HtmlRenderer
+                .builder()
+                .nodeRendererFactory { context -> SkipParentWrapperParagraphsRenderer(context) }
+                .build()
+        }
+
+        private val rendered = LruCache<String, String>(CACHE_SIZE)
+    }
+
+    val parser: Parser
+        get() = sharedParser
+
+    val renderer: HtmlRenderer
+        get() = sharedRenderer
 
     fun convert(endpoint: Endpoint, endpointResponse: EndpointResponse): String {
-        var comment = ""
+        val comment = StringBuilder()
 
         if (endpoint.summary != null) {
-            comment += endpoint.summary + "\n\n"
+            comment.append(endpoint.summary).append("\n\n")
         }
 
         if (endpoint.description != null) {
-            comment += convert(endpoint.description) + "\n"
+            comment.append(convert(endpoint.description)).append("\n")
         }
 
         if (endpoint.parameters.isNotEmpty() || endpointResponse.description != null)
-            comment += "\n"
+            comment.append("\n")
 
         endpoint.parameters.forEach {
-            comment += convert(it.description, "@param ${toCamelCase (it.name)}")
-            comment += "\n"
+            comment.append(convert(it.description, "@param ${toCamelCase (it.name)}"))
+            comment.append("\n")
         }
 
         val response = convert(endpointResponse.description, "@return")
         if (response.isNotEmpty()) {
-            comment += response
-            comment += "\n"
+            comment.append(response)
+            comment.append("\n")
         }
 
         return indent(wrap(comment))
     }
 
     fun convert(dataType: ModelDataType): String {
-        var comment = ""
-
-        if (dataType.documentation?.description != null) {
-            comment += convert(dataType.documentation!!.description) + "\n"
-        }
-
-        return wrap(comment)
+        return wrap(convertDescription(dataType.documentation?.description))
     }
 
     fun convert(dataType: DataType): String {
-        var comment = ""
+        return indent(wrap(convertDescription(dataType.documentation?.description)))
+    }
 
-        if (dataType.documentation?.description != null) {
-            comment += convert(dataType.documentation!!.description) + "\n"
-        }
+    private fun convertDescription(description: String?): String {
+        if (description == null)
+            return ""
 
-        return indent(wrap(comment))
+        return convert(description) + "\n"
     }
 
-    private fun wrap(comment: String): String {
-        val temp = comment
-            .dropLastWhile { it == '\n' }
+    private fun wrap(comment: CharSequence): String {
+        var end = comment.length
+        while (end > 0 && comment[end - 1] == '\n')
+            end--
 
-        if (temp.isEmpty())
+        if (end == 0)
             return ""
 
-        val javadoc = temp
-            .lineSequence()
-            .map {
-                " * $it".trimEnd()
+        val javadoc = StringBuilder(end + 64)
+        javadoc.append("/**\n")
+
+        // split at \n, \r\n or \r like lineSequence()
+        var start = 0
+        while (start <= end) {
+            var lineEnd = start
+            while (lineEnd < end && comment[lineEnd] != '\n' && comment[lineEnd] != '\r')
+                lineEnd++
+
+            javadoc.append(" * ").append(comment, start, lineEnd)
+            while (javadoc.last().isWhitespace())
+                javadoc.setLength(javadoc.length - 1)
+
+            javadoc.append("\n")
+
+            start = if (lineEnd + 1 < end && comment[lineEnd] == '\r' && comment[lineEnd + 1] == '\n') {
+                lineEnd + 2
+            } else {
+                lineEnd + 1
             }
-            .joinToString(
-                "\n",
-                "/**\n",
-                "\n */\n")
+        }
 
-        return javadoc
+        javadoc.append(" */\n")
+        return javadoc.toString()
     }
 
     private fun indent(javadoc: String): String {
         if (javadoc.isEmpty())
             return ""
 
-        val indented = javadoc
-            .lineSequence()
-            .map {
-                if (it.isEmpty())
-                    return@map it
-                else
-                    return@map "    $it"
-            }
-            .joinToString("\n")
+        val indented = StringBuilder(javadoc.length + 256)
 
-        return indented
+        var start = 0
+        while (start < javadoc.length) {
+            var end = javadoc.indexOf('\n', start)
+            if (end < 0)
+                end = javadoc.length
+
+            if (end > start)
+                indented.append("    ")
+
+            indented.append(javadoc, start, end)
+
+            if (end < javadoc.length)
+                indented.append('\n')
+
+            start = end + 1
+        }
+
+        return indented.toString()
     }
 
     private fun convert(description: String?, intro: String? = null): String {
         if (description.isNullOrEmpty())
             return ""
 
-        val doc = parser.parse(description)
-
-        var result = ""
-        if (intro != null) {
-            result = intro
-            result += " "
+        val html = rendered.get(description) {
+            renderer.render(parser.parse(it))
         }
 
-        result += renderer
-            .render(doc)
+        if (intro == null)
+            return html
 
-        return result
+        return "$intro $html"
     }
 
 }
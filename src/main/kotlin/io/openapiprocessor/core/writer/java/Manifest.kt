@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import io.openapiprocessor.core.support.sha256
+import io.openapiprocessor.core.support.toURI
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+const val MANIFEST_FOLDER = ".openapi-processor"
+const val MANIFEST_FILE = "manifest"
+
+private const val MANIFEST_VERSION = "openapi-processor-manifest: 1"
+private const val MANIFEST_INPUTS = "inputs: "
+private const val NO_INPUTS = "-"
+
+/**
+ * manifest of the generated source files. It is stored in the target folder of the generated
+ * sources (`targetDir/.openapi-processor/manifest`) and is used for incremental generation.
+ *
+ * It contains the digest of the processor inputs (see
+ * [io.openapiprocessor.core.processor.InputDigest]) and the hash of each generated file. The file
+ * paths are relative to the target folder.
+ */
+class Manifest(
+
+    /**
+     * digest of the processor inputs, null if unknown.
+     */
+    val inputs: String? = null,
+
+    /**
+     * hash of each generated file, by file path.
+     */
+    val files: Map<String, String> = emptyMap()
+) {
+
+    /**
+     * checks if the generated sources are up-to-date, i.e. if the inputs did not change and all
+     * generated files still exist with the same content.
+     *
+     * @param targetDir the target folder of the generated sources
+     * @param inputs digest of the current processor inputs
+     * @return true if the sources are up-to-date, false otherwise
+     */
+    fun isUpToDate(targetDir: Path, inputs: String?): Boolean {
+        if (inputs == null || this.inputs != inputs)
+            return false
+
+        return files.all { (file, hash) ->
+            val path = targetDir.resolve(file)
+            Files.isRegularFile(path) && sha256(Files.readAllBytes(path)) == hash
+        }
+    }
+
+    /**
+     * write the manifest to the given target folder.
+     *
+     * @param targetDir the target folder of the generated sources
+     */
+    fun write(targetDir: Path) {
+        val folder = targetDir.resolve(MANIFEST_FOLDER)
+        Files.createDirectories(folder)
+
+        val content = StringBuilder()
+        content.append(MANIFEST_VERSION).append("\n")
+        content.append(MANIFEST_INPUTS).append(inputs ?: NO_INPUTS).append("\n")
+        files.toSortedMap().forEach { (file, hash) ->
+            content.append(hash).append(" ").append(file).append("\n")
+        }
+
+        Files.write(folder.resolve(MANIFEST_FILE), content.toString().toByteArray())
+    }
+
+    companion object {
+
+        /**
+         * read the manifest from the given target folder. Returns an empty manifest if there is
+         * no (valid) manifest.
+         *
+         * @param targetDir the target folder of the generated sources
+         * @return the manifest
+         */
+        fun read(targetDir: Path): Manifest {
+            val path = targetDir.resolve(MANIFEST_FOLDER).resolve(MANIFEST_FILE)
+            if (!Files.isRegularFile(path))
+                return Manifest()
+
+            val lines = Files.readAllLines(path)
+            if (lines.size < 2 || lines[0] != MANIFEST_VERSION || !lines[1].startsWith(MANIFEST_INPUTS))
+                return Manifest()
+
+            val inputs = lines[1].substring(MANIFEST_INPUTS.length)
+
+            val files = linkedMapOf<String, String>()
+            lines.drop(2)
+                .filter { it.isNotEmpty() }
+                .forEach {
+                    val separator = it.indexOf(' ')
+                    if (separator < 0)
+                        return Manifest()
+
+                    files[it.substring(separator + 1)] = it.substring(0, separator)
+                }
+
+            return Manifest(if (inputs == NO_INPUTS) null else inputs, files)
+        }
+
+        /**
+         * get the root folder of the generated sources from the target dir option.
+         *
+         * @param targetDir target dir option
+         * @return target folder path
+         */
+        fun getTargetDir(targetDir: String): Path {
+            return Paths.get(toURI(targetDir))
+        }
+    }
+}
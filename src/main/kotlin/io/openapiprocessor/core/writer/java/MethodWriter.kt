@@ -126,7 +126,7 @@ open class MethodWriter(
 
         parameterAnnotationWriter.write(target, parameter)
 
-        val annotationTypeMappings = MappingFinder(apiOptions.typeMappings)
+        val annotationTypeMappings = MappingFinder(apiOptions.mappingIndex)
             .findParameterAnnotations(endpoint.path, endpoint.method, parameter.dataType.getTypeName())
 
         annotationTypeMappings.forEach {
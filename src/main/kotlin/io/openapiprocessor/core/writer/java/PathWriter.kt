@@ -17,8 +17,12 @@
 package io.openapiprocessor.core.writer.java
 
 import java.io.OutputStreamWriter
+import java.nio.ByteBuffer
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.StandardOpenOption.CREATE
+import java.nio.file.StandardOpenOption.TRUNCATE_EXISTING
+import java.nio.file.StandardOpenOption.WRITE
 
 /**
  * Path based Writer
@@ -27,3 +31,72 @@ import java.nio.file.Path
  */
 class PathWriter(target: Path): OutputStreamWriter(Files.newOutputStream(target))
 
+/**
+ * writes the content to the target file only if the target file does not exist or if its content
+ * is different. It compares the file size first and the file content only if the size is equal.
+ * An unchanged file is not touched, i.e. it keeps its modification time.
+ *
+ * @param target the target file
+ * @param content the new file content
+ * @return true if the file was written, false if it was unchanged
+ */
+fun writeIfChanged(target: Path, content: ByteArray): Boolean {
+    return writeIfChanged(target, ByteBuffer.wrap(content))
+}
+
+/**
+ * [writeIfChanged] with the remaining bytes of the given buffer. It does not change the position
+ * of the buffer.
+ *
+ * @param target the target file
+ * @param content the new file content
+ * @return true if the file was written, false if it was unchanged
+ */
+fun writeIfChanged(target: Path, content: ByteBuffer): Boolean {
+    if (isEqual(target, content.duplicate())) {
+        return false
+    }
+
+    writeContent(target, content.duplicate())
+    return true
+}
+
+/**
+ * writes the remaining bytes of the given buffer to the target file. It creates or truncates the
+ * target file.
+ *
+ * @param target the target file
+ * @param content the file content
+ */
+fun writeContent(target: Path, content: ByteBuffer) {
+    Files.newByteChannel(target, WRITE, CREATE, TRUNCATE_EXISTING).use { channel ->
+        while (content.hasRemaining()) {
+            channel.write(content)
+        }
+    }
+}
+
+private fun isEqual(target: Path, content: ByteBuffer): Boolean {
+    if (!Files.isRegularFile(target) || Files.size(target) != content.remaining().toLong()) {
+        return false
+    }
+
+    Files.newInputStream(target).use { stream ->
+        val buffer = ByteArray(8192)
+
+        var count = stream.read(buffer)
+        while (count >= 0) {
+            if (count > content.remaining())
+                return false
+
+            for (i in 0 until count) {
+                if (buffer[i] != content.get())
+                    return false
+            }
+
+            count = stream.read(buffer)
+        }
+
+        return !content.hasRemaining()
+    }
+}
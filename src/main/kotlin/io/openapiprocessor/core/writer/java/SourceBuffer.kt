@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import java.io.Writer
+import java.nio.ByteBuffer
+import java.nio.CharBuffer
+import java.nio.charset.Charset
+import java.nio.charset.CharsetEncoder
+import java.nio.charset.CodingErrorAction
+
+/**
+ * reusable buffer of a generated source file. The writers render into the buffer and the buffer
+ * encodes its content without creating a String copy. The char & byte storage is kept between
+ * the source files.
+ *
+ * Unlike [java.io.StringWriter] it is not synchronized, i.e. each thread needs its own buffer.
+ */
+class SourceBuffer(charset: Charset, capacity: Int = 8192): Writer() {
+    private val chars = StringBuilder(capacity)
+    private var bytes: ByteBuffer = ByteBuffer.allocate(capacity)
+
+    // same error handling as OutputStreamWriter
+    private val encoder: CharsetEncoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE)
+
+    /**
+     * clear the buffer content.
+     */
+    fun reset() {
+        chars.setLength(0)
+    }
+
+    /**
+     * encode the buffer content. The returned byte buffer is only valid until the next call of
+     * [encode].
+     *
+     * @return the encoded content, positioned at the first byte
+     */
+    fun encode(): ByteBuffer {
+        val size = (chars.length * encoder.maxBytesPerChar().toDouble()).toInt()
+        if (bytes.capacity() < size) {
+            bytes = ByteBuffer.allocate(size)
+        }
+
+        val target = bytes
+        target.clear()
+
+        encoder.reset()
+        encoder.encode(CharBuffer.wrap(chars), target, true)
+        encoder.flush(target)
+        target.flip()
+        return target
+    }
+
+    override fun write(cbuf: CharArray, off: Int, len: Int) {
+        chars.append(cbuf, off, len)
+    }
+
+    override fun write(c: Int) {
+        chars.append(c.toChar())
+    }
+
+    override fun write(str: String, off: Int, len: Int) {
+        chars.append(str, off, off + len)
+    }
+
+    override fun append(csq: CharSequence?): Writer {
+        chars.append(csq)
+        return this
+    }
+
+    override fun append(csq: CharSequence?, start: Int, end: Int): Writer {
+        chars.append(csq, start, end)
+        return this
+    }
+
+    override fun append(c: Char): Writer {
+        chars.append(c)
+        return this
+    }
+
+    override fun flush() {
+    }
+
+    override fun close() {
+    }
+
+    override fun toString(): String {
+        return chars.toString()
+    }
+}
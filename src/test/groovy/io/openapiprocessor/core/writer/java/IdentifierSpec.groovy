@@ -62,6 +62,10 @@ class IdentifierSpec extends Specification {
         "fooBAr"         | "fooBar"       | "FooBar"       | "FOO_BAR"
         "fooBAR"         | "fooBar"       | "FooBar"       | "FOO_BAR"
 
+        // non ascii words
+        "prénom-Größe"   | "prénomGröße"  | "PrénomGröße"  | "PRÉNOM_GRÖSSE"
+        "ÉTAT_final"     | "étatFinal"    | "ÉtatFinal"    | "ÉTAT_FINAL"
+
         // final result is empty
         " "              | "invalid"      | "Invalid"      | "INVALID"
         "_"              | "invalid"      | "Invalid"      | "INVALID"
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import io.openapiprocessor.core.converter.mapping.EndpointTypeMapping
+import io.openapiprocessor.core.converter.mapping.TypeMapping
+import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.model.HttpMethod
+import io.openapiprocessor.core.support.parse
+
+class ApiConverterParallelSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    fun createApi(loops: Boolean = false): String {
+        val paths = StringBuilder()
+        val schemas = StringBuilder()
+
+        for (i in 0 until 40) {
+            paths.append("""
+              /foo$i:
+                get:
+                  tags:
+                    - tag${i % 3}
+                  parameters:
+                    - name: kind
+                      in: query
+                      schema:
+                        type: string
+                        enum: [a, b]
+                  responses:
+                    '200':
+                      description: ...
+                      content:
+                        application/json:
+                          schema:
+                            ${'$'}ref: '#/components/schemas/Foo${i % 7}'
+                post:
+                  tags:
+                    - tag${(i + 1) % 3}
+                  requestBody:
+                    content:
+                      application/json:
+                        schema:
+                          type: object
+                          properties:
+                            bar:
+                              ${'$'}ref: '#/components/schemas/Bar${i % 5}'
+                  responses:
+                    '204':
+                      description: none
+
+            """.trimIndent().prependIndent("  "))
+            paths.append("\n")
+        }
+
+        for (i in 0 until 7) {
+            schemas.append("""
+              Foo$i:
+                type: object
+                properties:
+                  bars:
+                    type: array
+                    items:
+                      ${'$'}ref: '#/components/schemas/Bar${i % 5}'
+                  next:
+                    ${'$'}ref: '#/components/schemas/${if (loops) "Foo${(i + 1) % 7}" else "Bar${(i + 1) % 5}"}'
+
+            """.trimIndent().prependIndent("    "))
+            schemas.append("\n")
+        }
+
+        for (i in 0 until 5) {
+            schemas.append("""
+              Bar$i:
+                type: object
+                properties:
+                  value:
+                    type: string
+                  kind:
+                    type: string
+                    enum: [x, y]
+
+            """.trimIndent().prependIndent("    "))
+            schemas.append("\n")
+        }
+
+        return "openapi: 3.0.2\n" +
+            "info:\n" +
+            "  title: API\n" +
+            "  version: 1.0.0\n" +
+            "paths:\n" +
+            paths +
+            "components:\n" +
+            "  schemas:\n" +
+            schemas
+    }
+
+    fun describe(api: Api): List<String> {
+        val result = mutableListOf<String>()
+
+        api.forEachInterface { itf ->
+            result.add("interface ${itf.getInterfaceName()}")
+            itf.endpoints.forEach { ep ->
+                result.add("endpoint ${ep.method} ${ep.path}")
+                ep.parameters.forEach {
+                    result.add("parameter ${it.name} ${it.dataType.getTypeName()}")
+                }
+                ep.requestBodies.forEach {
+                    result.add("body ${it.contentType} ${it.dataType.getTypeName()}")
+                }
+                ep.endpointResponses.forEach {
+                    result.add("response ${it.responseType}")
+                }
+            }
+        }
+
+        val dataTypes = api.getDataTypes()
+        dataTypes.getDataTypes().forEach {
+            result.add("data type ${it.getName()} ${dataTypes.getRefCnt(it.getName())}")
+        }
+
+        return result
+    }
+
+    fun convert(options: ApiOptions, loops: Boolean = false): Api {
+        return ApiConverter(options, FrameworkBase()).convert(parse(createApi(loops)))
+    }
+
+    "parallel conversion creates the same api as the sequential conversion" {
+        val expected = describe(convert(ApiOptions()))
+
+        repeat(5) {
+            val options = ApiOptions()
+            options.parallelConversion = true
+            options.parallelism = 4
+
+            describe(convert(options)) shouldBe expected
+        }
+    }
+
+    "parallel conversion with type mappings creates the same api as the sequential conversion" {
+        fun createOptions(): ApiOptions {
+            val options = ApiOptions()
+            options.typeMappings = listOf(
+                TypeMapping("Bar1", "io.openapiprocessor.test.Bar"),
+                EndpointTypeMapping("/foo3", HttpMethod.POST, listOf(
+                    TypeMapping("Bar3", "io.openapiprocessor.test.Bar3")))
+            )
+            return options
+        }
+
+        val expected = describe(convert(createOptions()))
+
+        val options = createOptions()
+        options.parallelConversion = true
+        options.parallelism = 4
+
+        describe(convert(options)) shouldBe expected
+    }
+
+    "parallel conversion with \$ref loops creates the same api as the sequential conversion" {
+        val expected = describe(convert(ApiOptions(), true))
+
+        val options = ApiOptions()
+        options.parallelConversion = true
+        options.parallelism = 4
+
+        describe(convert(options, true)) shouldBe expected
+    }
+
+})
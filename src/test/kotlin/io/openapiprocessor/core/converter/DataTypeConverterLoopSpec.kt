@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.booleans.shouldBeFalse
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.openapiprocessor.core.converter.mapping.UnknownDataTypeException
+import io.openapiprocessor.core.model.DataTypes
+import io.openapiprocessor.core.model.HttpMethod.GET
+import io.openapiprocessor.core.model.datatypes.LazyDataType
+import io.openapiprocessor.core.model.datatypes.ObjectDataType
+import io.openapiprocessor.core.parser.OpenApi
+import io.openapiprocessor.core.support.getSchemaInfo
+import io.openapiprocessor.core.support.parse
+
+class DataTypeConverterLoopSpec: StringSpec({
+
+    /**
+     * creates a chain of [depth] object schemas, the last one references the first one. If [last]
+     * is given, it is the schema of the `next` property of the last node instead.
+     */
+    fun createChain(depth: Int, last: String? = null): OpenApi {
+        val schemas = StringBuilder()
+        for (i in 0 until depth) {
+            val next = if (last != null && i == depth - 1) {
+                last
+            } else {
+                "${'$'}ref: '#/components/schemas/Node${(i + 1) % depth}'"
+            }
+
+            schemas.append("""
+               |    Node$i:
+               |      type: object
+               |      properties:
+               |        next:
+               |          $next
+               |""".trimMargin())
+            schemas.append("\n")
+        }
+
+        return parse("""
+           |openapi: 3.0.2
+           |info:
+           |  title: API
+           |  version: 1.0.0
+           |
+           |paths:
+           |  /foo:
+           |    get:
+           |      responses:
+           |        '200':
+           |          description: ...
+           |          content:
+           |            application/json:
+           |              schema:
+           |                ${'$'}ref: '#/components/schemas/Node0'
+           |
+           |components:
+           |  schemas:
+           |""".trimMargin() + "\n" + schemas.toString())
+    }
+
+    fun getSchemaInfo(openApi: OpenApi): SchemaInfo {
+        return openApi.getSchemaInfo("FooResponse200",
+            "/foo", GET, "200", "application/json")
+    }
+
+    "handles \$ref loop over a 200 level schema chain" {
+        val openApi = createChain(200)
+
+        val dataTypes = DataTypes()
+        val converter = DataTypeConverter(ApiOptions())
+
+        // when:
+        val dataType = converter.convert(getSchemaInfo(openApi), dataTypes)
+
+        // then:
+        dataTypes.size shouldBe 200
+
+        var node = dataType
+        for (i in 0 until 199) {
+            node.shouldBeInstanceOf<ObjectDataType>()
+            node.getName() shouldBe "Node$i"
+            node = node.getObjectProperty("next").dataType
+        }
+
+        node.shouldBeInstanceOf<ObjectDataType>()
+        node.getName() shouldBe "Node199"
+        val loop = node.getObjectProperty("next").dataType
+        loop.shouldBeInstanceOf<LazyDataType>()
+        loop.getName() shouldBe "Node0"
+        converter.isIdle.shouldBeTrue()
+    }
+
+    "has no in-progress schemas after a failed conversion" {
+        val broken = createChain(50, "type: unknown")
+        val valid = createChain(50, "type: string")
+        val converter = DataTypeConverter(ApiOptions())
+
+        shouldThrow<UnknownDataTypeException> {
+            converter.convert(getSchemaInfo(broken), DataTypes())
+        }
+
+        converter.isIdle.shouldBeTrue()
+
+        // when:
+        val dataTypes = DataTypes()
+        converter.convert(getSchemaInfo(valid), dataTypes)
+
+        // then: no leftover in-progress schema is detected as $ref loop
+        converter.hasLoops.shouldBeFalse()
+        converter.isIdle.shouldBeTrue()
+        dataTypes.size shouldBe 50
+    }
+
+})
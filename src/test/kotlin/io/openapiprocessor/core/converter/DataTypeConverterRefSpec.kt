@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.kotest.matchers.types.shouldNotBeSameInstanceAs
+import io.openapiprocessor.core.converter.mapping.EndpointTypeMapping
+import io.openapiprocessor.core.converter.mapping.TypeMapping
+import io.openapiprocessor.core.model.DataTypes
+import io.openapiprocessor.core.model.HttpMethod.GET
+import io.openapiprocessor.core.support.getSchemaInfo
+import io.openapiprocessor.core.support.parse
+
+class DataTypeConverterRefSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val openApi = parse("""
+       openapi: 3.0.2
+       info:
+         title: API
+         version: 1.0.0
+       
+       paths:
+         /foo:
+           get:
+             responses:
+               '200':
+                 description: ...
+                 content:
+                   application/json:
+                     schema:
+                       ${'$'}ref: '#/components/schemas/Id'
+               '202':
+                 description: ...
+                 content:
+                   application/json:
+                     schema:
+                       ${'$'}ref: '#/components/schemas/Id'
+         /bar:
+           get:
+             responses:
+               '200':
+                 description: ...
+                 content:
+                   application/json:
+                     schema:
+                       ${'$'}ref: '#/components/schemas/Id'
+       
+       components:
+         schemas:
+       
+           Id:
+             type: string
+             
+    """.trimIndent())
+
+    "converts a repeated \$ref only once" {
+        val dataTypes = DataTypes()
+        val converter = DataTypeConverter(ApiOptions())
+
+        // when:
+        val foo200 = converter.convert(openApi.getSchemaInfo("FooResponse200",
+            "/foo", GET, "200", "application/json"), dataTypes)
+        val foo202 = converter.convert(openApi.getSchemaInfo("FooResponse202",
+            "/foo", GET, "202", "application/json"), dataTypes)
+        val bar200 = converter.convert(openApi.getSchemaInfo("BarResponse200",
+            "/bar", GET, "200", "application/json"), dataTypes)
+
+        // then:
+        foo200.getName() shouldBe "String"
+        foo202 shouldBeSameInstanceAs foo200
+        bar200 shouldBeSameInstanceAs foo200
+    }
+
+    "converts a repeated \$ref with endpoint mappings per endpoint" {
+        val options = ApiOptions()
+        options.typeMappings = listOf(
+            EndpointTypeMapping("/bar", null, listOf(
+                TypeMapping("Id", "java.util.UUID")
+            ))
+        )
+
+        val dataTypes = DataTypes()
+        val converter = DataTypeConverter(options)
+
+        // when:
+        val foo200 = converter.convert(openApi.getSchemaInfo("FooResponse200",
+            "/foo", GET, "200", "application/json"), dataTypes)
+        val bar200 = converter.convert(openApi.getSchemaInfo("BarResponse200",
+            "/bar", GET, "200", "application/json"), dataTypes)
+
+        // then:
+        foo200.getName() shouldBe "String"
+        bar200.getName() shouldBe "UUID"
+        bar200 shouldNotBeSameInstanceAs foo200
+    }
+
+    "does not re-use a converted \$ref with other data types" {
+        val converter = DataTypeConverter(ApiOptions())
+
+        // when:
+        val first = converter.convert(openApi.getSchemaInfo("FooResponse200",
+            "/foo", GET, "200", "application/json"), DataTypes())
+        val second = converter.convert(openApi.getSchemaInfo("FooResponse200",
+            "/foo", GET, "200", "application/json"), DataTypes())
+
+        // then:
+        second shouldNotBeSameInstanceAs first
+    }
+
+})
@@ -295,4 +295,72 @@ class DataTypeUsageSpec: StringSpec({
         dataTypes.getRefCnt("Bar") shouldBe 1
     }
 
+    "collect usage of a shared object schema once per collected data type" {
+        val openApi = parse ("""
+           openapi: 3.0.2
+           info:
+             title: API
+             version: 1.0.0
+           
+           paths:
+             /foo:
+               get:
+                 responses:
+                   '200':
+                     description: ...
+                     content:
+                       application/json:
+                         schema:
+                           ${'$'}ref: '#/components/schemas/Foo'
+           
+           components:
+             schemas:
+           
+               Foo:
+                 type: object
+                 properties:
+                   left:
+                     ${'$'}ref: '#/components/schemas/Left'
+                   right:
+                     ${'$'}ref: '#/components/schemas/Right'
+           
+               Left:
+                 type: object
+                 properties:
+                   bar:
+                     ${'$'}ref: '#/components/schemas/Bar'
+           
+               Right:
+                 type: object
+                 properties:
+                   bar:
+                     ${'$'}ref: '#/components/schemas/Bar'
+                   bars:
+                     type: array
+                     items:
+                       ${'$'}ref: '#/components/schemas/Bar'
+           
+               Bar:
+                 type: object
+                 properties:
+                   bar:
+                     type: string
+                 
+        """.trimIndent())
+
+        val schemaInfo = openApi.getSchemaInfo("FooResponse200",
+            "/foo", GET, "200", "application/json")
+
+        // when:
+        val converter = DataTypeConverter(ApiOptions())
+        converter.convert(schemaInfo, dataTypes)
+
+        // then:
+        dataTypes.size shouldBe 4
+        dataTypes.getRefCnt("Foo") shouldBe 1
+        dataTypes.getRefCnt("Left") shouldBe 1
+        dataTypes.getRefCnt("Right") shouldBe 1
+        dataTypes.getRefCnt("Bar") shouldBe 1
+    }
+
 })
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.maps.shouldBeEmpty
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.model.Endpoint
+import io.openapiprocessor.core.support.parse
+
+class DeduplicateInlineSchemasSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    fun path(path: String, id: String): String {
+        return """
+          $path:
+            get:
+              responses:
+                '200':
+                  description: ...
+                  content:
+                    application/json:
+                      schema:
+                        type: object
+                        properties:
+                          id:
+                            type: $id
+                          kind:
+                            type: string
+                            enum: [a, b]
+
+        """.trimIndent().prependIndent("  ")
+    }
+
+    fun openapi(vararg paths: String): String {
+        return "openapi: 3.0.2\n" +
+            "info:\n" +
+            "  title: API\n" +
+            "  version: 1.0.0\n" +
+            "paths:\n" +
+            paths.joinToString("") { it + "\n" }
+    }
+
+    // a get endpoint with the given inline response schema
+    fun response(path: String, schema: String): String {
+        return """
+          |$path:
+          |  get:
+          |    responses:
+          |      '200':
+          |        description: ...
+          |        content:
+          |          application/json:
+          |            schema:
+          |${schema.trimIndent().prependIndent("              ")}
+        """.trimMargin().prependIndent("  ")
+    }
+
+    val yaml = openapi(
+        path("/foo", "string"),
+        path("/bar", "string"),
+        path("/baz", "integer"))
+
+    fun convert(deduplicate: Boolean, source: String = yaml): Api {
+        val options = ApiOptions()
+        options.deduplicateInlineSchemas = deduplicate
+        return ApiConverter(options, FrameworkBase()).convert(parse(source))
+    }
+
+    fun endpoints(api: Api): Map<String, Endpoint> {
+        val endpoints = mutableMapOf<String, Endpoint>()
+        api.forEachInterface { itf ->
+            itf.endpoints.forEach { endpoints[it.path] = it }
+        }
+        return endpoints
+    }
+
+    fun responseTypeName(ep: Endpoint): String {
+        return ep.getFirstResponse("200")!!.responseType.getName()
+    }
+
+    "equal inline schemas share a single data type" {
+        val api = convert(true)
+
+        val endpoints = endpoints(api)
+        responseTypeName(endpoints["/foo"]!!) shouldBe "FooGetResponse200"
+        responseTypeName(endpoints["/bar"]!!) shouldBe "FooGetResponse200"
+        responseTypeName(endpoints["/baz"]!!) shouldBe "BazGetResponse200"
+
+        val dataTypes = api.getDataTypes()
+        dataTypes.getDataTypes().map { it.getName() } shouldContainExactlyInAnyOrder listOf(
+            "FooGetResponse200",
+            "FooGetResponse200Kind",
+            "BazGetResponse200")
+
+        dataTypes.getAliases("FooGetResponse200") shouldBe setOf("BarGetResponse200")
+        dataTypes.getAliases("FooGetResponse200Kind") shouldBe setOf(
+            "BarGetResponse200Kind",
+            "BazGetResponse200Kind")
+    }
+
+    "shared data type counts the references of its equal inline schemas" {
+        val api = convert(true)
+
+        val dataTypes = api.getDataTypes()
+        dataTypes.getRefCnt("FooGetResponse200") shouldBe 2
+        dataTypes.getRefCnt("FooGetResponse200Kind") shouldBe 3
+    }
+
+    "does not share data types if disabled" {
+        val api = convert(false)
+
+        val endpoints = endpoints(api)
+        responseTypeName(endpoints["/bar"]!!) shouldBe "BarGetResponse200"
+
+        val dataTypes = api.getDataTypes()
+        dataTypes.getDataTypes().size shouldBe 6
+        dataTypes.getAliases().shouldBeEmpty()
+    }
+
+    val plain = """
+        type: object
+        properties:
+          id:
+            type: string
+    """
+
+    fun nested(type: String): String {
+        return """
+            type: object
+            properties:
+              id:
+                type: string
+              nested:
+                type: object
+                properties:
+                  value:
+                    type: $type
+        """
+    }
+
+    listOf(
+        Triple("a constraint", plain, """
+            type: object
+            properties:
+              id:
+                type: string
+                maxLength: 10
+        """),
+        Triple("required", plain, """
+            type: object
+            required: [id]
+            properties:
+              id:
+                type: string
+        """),
+        Triple("nullable", plain, """
+            type: object
+            nullable: true
+            properties:
+              id:
+                type: string
+        """),
+        Triple("a nested inline property", nested("string"), nested("integer"))
+    ).forEach { (difference, foo, bar) ->
+        "does not share data types of inline schemas that differ only in $difference" {
+            val api = convert(true, openapi(response("/foo", foo), response("/bar", bar)))
+
+            val endpoints = endpoints(api)
+            responseTypeName(endpoints["/foo"]!!) shouldBe "FooGetResponse200"
+            responseTypeName(endpoints["/bar"]!!) shouldBe "BarGetResponse200"
+            api.getDataTypes().getAliases().shouldBeEmpty()
+        }
+    }
+
+    "equal inline enum schemas share a single data type" {
+        fun query(path: String, values: String): String {
+            return """
+              |$path:
+              |  get:
+              |    parameters:
+              |      - name: kind
+              |        in: query
+              |        schema:
+              |          type: string
+              |          enum: $values
+              |    responses:
+              |      '204':
+              |        description: none
+            """.trimMargin().prependIndent("  ")
+        }
+
+        val api = convert(true, openapi(
+            query("/foo", "[a, b]"),
+            query("/bar", "[a, b]"),
+            query("/baz", "[a, c]")))
+
+        fun kind(ep: Endpoint): String {
+            return ep.parameters.first { it.name == "kind" }.dataType.getName()
+        }
+
+        val endpoints = endpoints(api)
+        val foo = kind(endpoints["/foo"]!!)
+        kind(endpoints["/bar"]!!) shouldBe foo
+        kind(endpoints["/baz"]!!) shouldNotBe foo
+
+        val dataTypes = api.getDataTypes()
+        dataTypes.getDataTypes().size shouldBe 2
+        dataTypes.getAliases(foo).size shouldBe 1
+    }
+
+    "converts a multipart schema to parameters if an equal inline schema is shared" {
+        val multipart = """
+          |/foo:
+          |  post:
+          |    requestBody:
+          |      content:
+          |        multipart/form-data:
+          |          schema:
+          |${plain.trimIndent().prependIndent("            ")}
+          |    responses:
+          |      '204':
+          |        description: none
+        """.trimMargin().prependIndent("  ")
+
+        val api = convert(true, openapi(
+            response("/bar", plain),
+            multipart,
+            response("/baz", plain)))
+
+        val endpoints = endpoints(api)
+        endpoints["/foo"]!!.parameters.map { it.name } shouldContainExactly listOf("id")
+        responseTypeName(endpoints["/bar"]!!) shouldBe "BarGetResponse200"
+        responseTypeName(endpoints["/baz"]!!) shouldBe "BarGetResponse200"
+
+        val dataTypes = api.getDataTypes()
+        dataTypes.getDataTypes().map { it.getName() } shouldContainExactly listOf("BarGetResponse200")
+        dataTypes.getAliases("BarGetResponse200") shouldBe setOf("BazGetResponse200")
+    }
+
+})
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.shouldBe
+import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.model.Api
+import io.openapiprocessor.core.support.parse
+
+class EndpointFilterSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val openApi = parse("""
+        openapi: 3.0.2
+        info:
+          title: API
+          version: 1.0.0
+        
+        paths:
+          /pets:
+            get:
+              operationId: listPets
+              tags: [pet]
+              responses:
+                '200':
+                  description: pets
+                  content:
+                    application/json:
+                      schema:
+                        type: array
+                        items:
+                          ${'$'}ref: '#/components/schemas/Pet'
+
+          /pets/{id}:
+            get:
+              operationId: getPet
+              tags: [pet]
+              parameters:
+                - name: id
+                  in: path
+                  required: true
+                  schema:
+                    type: string
+              responses:
+                '200':
+                  description: a pet
+                  content:
+                    application/json:
+                      schema:
+                        ${'$'}ref: '#/components/schemas/Pet'
+
+          /store/order:
+            post:
+              operationId: placeOrder
+              tags: [store, pet]
+              responses:
+                '200':
+                  description: an order
+                  content:
+                    application/json:
+                      schema:
+                        ${'$'}ref: '#/components/schemas/Order'
+
+          /user/login:
+            get:
+              operationId: login
+              tags: [user]
+              responses:
+                '200':
+                  description: a user
+                  content:
+                    application/json:
+                      schema:
+                        ${'$'}ref: '#/components/schemas/User'
+
+        components:
+          schemas:
+            Pet:
+              type: object
+              properties:
+                name:
+                  type: string
+
+            Order:
+              type: object
+              properties:
+                pet:
+                  ${'$'}ref: '#/components/schemas/Pet'
+
+            User:
+              type: object
+              properties:
+                name:
+                  type: string
+    """.trimIndent())
+
+    fun convert(filter: EndpointFilter): Api {
+        val options = ApiOptions()
+        options.endpointFilter = filter
+        return ApiConverter(options, FrameworkBase()).convert(openApi)
+    }
+
+    fun endpoints(api: Api): List<String> {
+        val endpoints = mutableListOf<String>()
+        api.forEachInterface { itf ->
+            itf.endpoints.forEach {
+                endpoints.add(it.operationId!!)
+            }
+        }
+        return endpoints
+    }
+
+    fun dataTypes(api: Api): List<String> {
+        return api.getDataTypes().getModelDataTypes().map { it.getName() }
+    }
+
+    "converts all endpoints without filter" {
+        val api = convert(EndpointFilter())
+
+        endpoints(api) shouldContainExactlyInAnyOrder listOf("listPets", "getPet", "placeOrder", "login")
+        dataTypes(api) shouldContainExactlyInAnyOrder listOf("Pet", "Order", "User")
+    }
+
+    "converts only endpoints with included tag" {
+        val api = convert(EndpointFilter(EndpointSelector(tags = listOf("user"))))
+
+        endpoints(api) shouldContainExactlyInAnyOrder listOf("login")
+        dataTypes(api) shouldContainExactlyInAnyOrder listOf("User")
+    }
+
+    "matches any tag of an endpoint" {
+        val api = convert(EndpointFilter(EndpointSelector(tags = listOf("pet"))))
+
+        endpoints(api) shouldContainExactlyInAnyOrder listOf("listPets", "getPet", "placeOrder")
+        dataTypes(api) shouldContainExactlyInAnyOrder listOf("Pet", "Order")
+    }
+
+    "does not convert endpoints with excluded operation id" {
+        val api = convert(EndpointFilter(
+            EndpointSelector(tags = listOf("pet")),
+            EndpointSelector(operationIds = listOf("placeOrder"))))
+
+        endpoints(api) shouldContainExactlyInAnyOrder listOf("listPets", "getPet")
+        dataTypes(api) shouldContainExactlyInAnyOrder listOf("Pet")
+    }
+
+    "selects endpoints by path prefix" {
+        val api = convert(EndpointFilter(EndpointSelector(paths = listOf("/pets"))))
+
+        endpoints(api) shouldContainExactlyInAnyOrder listOf("listPets", "getPet")
+    }
+
+    "selects endpoints by path glob" {
+        val api = convert(EndpointFilter(
+            exclude = EndpointSelector(paths = listOf("/pets/*", "/*/login"))))
+
+        endpoints(api) shouldContainExactlyInAnyOrder listOf("listPets", "placeOrder")
+        dataTypes(api) shouldContainExactlyInAnyOrder listOf("Pet", "Order")
+    }
+
+    "path prefix matches complete path segments" {
+        val selector = EndpointSelector(paths = listOf("/pet"))
+        val operation = openApi.getPaths()["/pets"]!!.getOperations().first()
+
+        selector.matches("/pets", operation) shouldBe false
+        selector.matches("/pet", operation) shouldBe true
+        selector.matches("/pet/1", operation) shouldBe true
+    }
+
+    "path glob ** matches multiple path segments" {
+        val selector = EndpointSelector(paths = listOf("/api/**/items"))
+        val operation = openApi.getPaths()["/pets"]!!.getOperations().first()
+
+        selector.matches("/api/v1/shop/items", operation) shouldBe true
+        selector.matches("/api/v1/shop/orders", operation) shouldBe false
+    }
+
+})
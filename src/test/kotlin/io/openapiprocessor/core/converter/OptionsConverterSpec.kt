@@ -10,6 +10,9 @@ import io.kotest.matchers.booleans.shouldBeFalse
 import io.kotest.matchers.booleans.shouldBeTrue
 import io.kotest.matchers.collections.shouldHaveSize
 import io.kotest.matchers.shouldBe
+import io.mockk.every
+import io.mockk.mockk
+import io.openapiprocessor.core.parser.Operation
 import io.openapiprocessor.core.support.Empty
 
 class OptionsConverterSpec: StringSpec({
@@ -107,4 +110,59 @@ class OptionsConverterSpec: StringSpec({
         options.formatCode.shouldBeFalse()
     }
 
+    "should read endpoint filter options" {
+        val converter = OptionsConverter()
+        val options = converter.convertOptions(mapOf(
+            "mapping" to """
+                openapi-processor-mapping: v2
+                options:
+                  package-name: generated
+                  include-endpoints:
+                    tags: [foo]
+                  exclude-endpoints:
+                    operation-ids: [getFoo]
+            """.trimIndent()
+        ))
+
+        val foo = mockk<Operation>()
+        every { foo.getTags() } returns listOf("foo")
+        every { foo.getOperationId() } returns "getFoo"
+
+        val bar = mockk<Operation>()
+        every { bar.getTags() } returns listOf("foo")
+        every { bar.getOperationId() } returns "getBar"
+
+        options.endpointFilter.isIncluded("/foo", foo).shouldBeFalse()
+        options.endpointFilter.isIncluded("/bar", bar).shouldBeTrue()
+    }
+
+    "should read reproducible option and disable the generated date" {
+        val converter = OptionsConverter()
+        val options = converter.convertOptions(mapOf(
+            "mapping" to """
+                openapi-processor-mapping: v2
+                options:
+                  package-name: generated
+                  reproducible: true
+            """.trimIndent()
+        ))
+
+        options.reproducible.shouldBeTrue()
+        options.generatedDate.shouldBeFalse()
+    }
+
+    "should read deduplicate-inline-schemas option" {
+        val converter = OptionsConverter()
+        val options = converter.convertOptions(mapOf(
+            "mapping" to """
+                openapi-processor-mapping: v2
+                options:
+                  package-name: generated
+                  deduplicate-inline-schemas: true
+            """.trimIndent()
+        ))
+
+        options.deduplicateInlineSchemas.shouldBeTrue()
+    }
+
 })
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.converter.mapping
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.booleans.shouldBeFalse
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.mockk.every
+import io.mockk.mockk
+import io.openapiprocessor.core.converter.mapping.matcher.TypeMatcher
+import io.openapiprocessor.core.model.HttpMethod
+
+class MappingIndexSpec: StringSpec({
+
+    fun createSchema(name: String, type: String, format: String?, primitive: Boolean, array: Boolean)
+    : MappingSchema {
+        val info = mockk<MappingSchema>()
+        every { info.isPrimitive() } returns primitive
+        every { info.isArray() } returns array
+        every { info.getName() } returns name
+        every { info.getType() } returns type
+        every { info.getFormat() } returns format
+        return info
+    }
+
+    val mappings = listOf(
+        TypeMapping("array", "java.util.Collection"),
+        TypeMapping("string", "java.lang.String"),
+        TypeMapping("Foo", "io.openapiprocessor.Foo"),
+        TypeMapping("string", "binary", "java.io.InputStream"),
+        TypeMapping("Foo", "io.openapiprocessor.FooToo"),
+        TypeMapping("array", "java.util.Set"),
+        TypeMapping("Foo", "uuid", "java.util.UUID")
+    )
+
+    "finds the same type mappings in the same order as the type matcher" {
+        val schemas = listOf(
+            createSchema("Foo", "object", null, primitive = false, array = false),
+            createSchema("Foo", "string", null, primitive = true, array = false),
+            createSchema("Foo", "string", "binary", primitive = true, array = false),
+            createSchema("Foo", "array", null, primitive = false, array = true),
+            createSchema("Bar", "string", "uuid", primitive = true, array = false),
+            createSchema("Bar", "object", null, primitive = false, array = false)
+        )
+
+        val index = IndexedMappings(mappings)
+
+        schemas.forEach {
+            val expected = mappings.filter(TypeMatcher(it))
+            index.findTypeMappings(it).shouldBe(expected)
+        }
+    }
+
+    "finds no type mapping in empty mappings" {
+        val index = IndexedMappings(emptyList())
+
+        val info = createSchema("Foo", "object", null, primitive = false, array = false)
+        index.findTypeMappings(info).shouldBeEmpty()
+    }
+
+    "groups endpoint mappings by path and method" {
+        val index = MappingIndex(listOf(
+            EndpointTypeMapping("/foo", null, listOf(
+                TypeMapping("Foo", "io.openapiprocessor.Foo"))),
+            EndpointTypeMapping("/foo", HttpMethod.GET, listOf(
+                TypeMapping("Foo", "io.openapiprocessor.FooGet")), true),
+            EndpointTypeMapping("/foo", HttpMethod.GET, listOf(
+                ParameterTypeMapping("foo", TypeMapping("Foo", "io.openapiprocessor.FooParam"))))
+        ))
+
+        val get = index.getEndpoint("/foo", HttpMethod.GET)
+        get.shouldNotBeNull()
+        get.exclude.shouldBeTrue()
+        get.mappings.findParameterTypeMappings("foo").size.shouldBe(1)
+
+        val all = index.getEndpoint("/foo", null)
+        all.shouldNotBeNull()
+        all.exclude.shouldBeFalse()
+        all.mappings.findParameterTypeMappings("foo").shouldBeEmpty()
+
+        index.getEndpoint("/foo", HttpMethod.PUT).shouldBeNull()
+        index.getEndpoint("/bar", null).shouldBeNull()
+    }
+
+})
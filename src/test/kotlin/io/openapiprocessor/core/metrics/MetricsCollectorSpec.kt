@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldHaveSize
+import io.kotest.matchers.longs.shouldBeGreaterThan
+import io.kotest.matchers.shouldBe
+
+class MetricsCollectorSpec: StringSpec({
+
+    "measures a phase and returns its result" {
+        val collector = MetricsCollector()
+
+        // when:
+        val result = collector.measure("phase") {
+            ByteArray(1024 * 1024).size
+        }
+
+        // then:
+        result shouldBe 1024 * 1024
+        collector.all shouldHaveSize 1
+
+        val measurement = collector.all.first()
+        measurement.phase shouldBe "phase"
+        measurement.wallTime shouldBeGreaterThan 0
+        if (measurement.allocatedBytes >= 0) {
+            measurement.allocatedBytes shouldBeGreaterThan 1024 * 1024
+        }
+    }
+
+    "measures a failed phase" {
+        val collector = MetricsCollector()
+
+        shouldThrow<IllegalStateException> {
+            collector.measure("phase") {
+                throw IllegalStateException()
+            }
+        }
+
+        collector.all shouldHaveSize 1
+    }
+
+    "sums the measurements by phase and by file" {
+        val collector = MetricsCollector()
+
+        // when:
+        collector.measure("first") {}
+        collector.measure(MetricsCollector.RENDER, "Foo.java") {}
+        collector.measure(MetricsCollector.FORMAT, "Foo.java") {}
+        collector.measure(MetricsCollector.RENDER, "Bar.java") {}
+
+        // then:
+        val phases = collector.phases
+        phases.map { it.phase } shouldBe listOf("first", MetricsCollector.RENDER, MetricsCollector.FORMAT)
+        phases.map { it.count } shouldBe listOf(1, 2, 1)
+
+        val files = collector.files
+        files.map { it.file } shouldBe listOf("Foo.java", "Bar.java")
+        files.first().wallTime shouldBe collector.all
+            .filter { it.file == "Foo.java" }
+            .sumOf { it.wallTime }
+    }
+
+    "runs the phase without measuring it if disabled" {
+        val collector = MetricsCollector { false }
+
+        val result = collector.measure("phase") { 42 }
+
+        result shouldBe 42
+        collector.all.shouldBeEmpty()
+    }
+
+    "keeps the measurement of the enabling phase if it enables the collector" {
+        var enabled = false
+        val collector = MetricsCollector { enabled }
+
+        collector.measureEnabling(MetricsCollector.MAPPING) {
+            enabled = true
+        }
+
+        collector.all.map { it.phase } shouldBe listOf(MetricsCollector.MAPPING)
+    }
+
+    "drops the measurements of a finished run on the next measurement" {
+        val collector = MetricsCollector()
+
+        repeat(3) {
+            collector.measure(MetricsCollector.WRITE) {}
+            collector.measure(MetricsCollector.RENDER, "Foo.java") {}
+            collector.finish()
+        }
+
+        collector.all.map { it.phase } shouldBe listOf(MetricsCollector.WRITE, MetricsCollector.RENDER)
+    }
+
+})
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.metrics.jfr
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldHaveSize
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.openapiprocessor.core.tempFolder
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+
+class JfrSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val folder = tempFolder()
+
+    fun record(event: String, block: () -> Unit): List<RecordedEvent> {
+        val target = folder.resolve("recording.jfr")
+
+        Recording().use { recording ->
+            recording.enable(event).withoutThreshold()
+            recording.start()
+            block()
+            recording.stop()
+            recording.dump(target)
+        }
+
+        return RecordingFile.readAllEvents(target)
+            .filter { it.eventType.name == event }
+    }
+
+    "jfr is available" {
+        Jfr.available.shouldBeTrue()
+    }
+
+    "records the parse event" {
+        val result = Any()
+
+        val events = record("io.openapiprocessor.Parse") {
+            Jfr.measureParse("SWAGGER", "openapi.yaml") { result } shouldBeSameInstanceAs result
+        }
+
+        events shouldHaveSize 1
+        events.first().getString("parser") shouldBe "SWAGGER"
+        events.first().getString("document") shouldBe "openapi.yaml"
+    }
+
+    "records the endpoint event with the number of created data types" {
+        var created = 0
+
+        val events = record("io.openapiprocessor.Endpoint") {
+            Jfr.measureEndpoint("/foo", "get", { created }) {
+                created += 3
+            }
+        }
+
+        events shouldHaveSize 1
+        events.first().getString("path") shouldBe "/foo"
+        events.first().getString("method") shouldBe "get"
+        events.first().getInt("dataTypes") shouldBe 3
+    }
+
+    "samples the mapping lookups" {
+        Jfr.lookups.set(0)
+
+        val events = record("io.openapiprocessor.MappingLookup") {
+            repeat(LOOKUP_SAMPLES.toInt() * 3) {
+                Jfr.measureLookup("type", { "/foo" }, { "Foo" }) { "mapping" }
+            }
+        }
+
+        events shouldHaveSize 3
+        events.sumOf { it.getLong("lookups") } shouldBe LOOKUP_SAMPLES * 3
+        events.first().getBoolean("found").shouldBeTrue()
+    }
+
+    "records the source file event" {
+        val events = record("io.openapiprocessor.SourceFile") {
+            val event = Jfr.beginSourceFile("api/FooApi.java")!!
+            event.rendered()
+            event.formatted(true)
+            event.written(42)
+        }
+
+        events shouldHaveSize 1
+        events.first().getString("file") shouldBe "api/FooApi.java"
+        events.first().getLong("bytes") shouldBe 42
+        events.first().getBoolean("formatted").shouldBeTrue()
+    }
+
+    "does not create events without recording" {
+        Jfr.beginSourceFile("api/FooApi.java") shouldBe null
+
+        val events = record("io.openapiprocessor.Parse") {
+            // not recorded
+        }
+
+        events.shouldBeEmpty()
+    }
+
+})
@@ -12,6 +12,9 @@ import io.openapiprocessor.core.model.datatypes.PropertyDataType
 import io.openapiprocessor.core.model.datatypes.StringDataType
 import io.openapiprocessor.core.model.datatypes.StringEnumDataType
 import io.openapiprocessor.core.support.datatypes.ObjectDataType
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 
 class DataTypesSpec : StringSpec({
 
@@ -54,4 +57,64 @@ class DataTypesSpec : StringSpec({
         dataTypes.getEnumDataTypes().size shouldBe 1
     }
 
+    "creates a data type exactly once if parallel tasks ask for the same name" {
+        val types = DataTypes()
+        val created = AtomicInteger()
+
+        val pool = Executors.newFixedThreadPool(8)
+        val tasks = (1..100).map {
+            pool.submit(Callable {
+                types.createTask().getOrAdd("Foo") {
+                    created.incrementAndGet()
+                    StringEnumDataType(DataTypeName("Foo"), "any")
+                }
+            })
+        }
+        val results = tasks.map { it.get() }
+        pool.shutdown()
+
+        created.get() shouldBe 1
+        results.all { it === results.first() } shouldBe true
+    }
+
+    "merge restores the registration order of sequential tasks" {
+        val types = DataTypes()
+        val first = types.createTask()
+        val second = types.createTask()
+
+        // second task runs first
+        second.getOrAdd("Bar") { StringEnumDataType(DataTypeName("Bar"), "any") }
+        second.getOrAdd("Foo") { StringEnumDataType(DataTypeName("Foo"), "any") }
+        first.getOrAdd("Foo") { StringEnumDataType(DataTypeName("Foo"), "any") }
+        types.addRef("Foo")
+        types.addRef("Bar")
+
+        types.merge(listOf(first, second)) shouldBe true
+        types.getEnumDataTypes().map { it.getName() } shouldBe listOf("Foo", "Bar")
+    }
+
+    "merge fails if a task deleted a data type used by another task" {
+        val types = DataTypes()
+        val first = types.createTask()
+        val second = types.createTask()
+
+        val foo = first.getOrAdd("Foo") { StringEnumDataType(DataTypeName("Foo"), "any") }
+        second.getOrAdd("Foo") { StringEnumDataType(DataTypeName("Foo"), "any") }
+        first.del(foo)
+
+        types.merge(listOf(first, second)) shouldBe false
+    }
+
+    "clear resets the created data types count" {
+        val types = DataTypes()
+        types.getOrAdd("Foo") { StringEnumDataType(DataTypeName("Foo"), "any") }
+        types.created shouldBe 1
+
+        types.clear()
+        types.created shouldBe 0
+
+        types.getOrAdd("Foo") { StringEnumDataType(DataTypeName("Foo"), "any") }
+        types.created shouldBe 1
+    }
+
 })
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+
+class CachingRefResolverSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    fun ref(value: String): Schema {
+        val schema = mockk<Schema>()
+        every { schema.getRef() } returns value
+        return schema
+    }
+
+    val resolver = mockk<RefResolver>()
+    every { resolver.resolve(any()) } answers {
+        NamedSchema("Foo", mockk())
+    }
+
+    "resolves a \$ref once & returns the same instance" {
+        val caching = CachingRefResolver(resolver)
+
+        val first = caching.resolve(ref("#/components/schemas/Foo"))
+        val second = caching.resolve(ref("#/components/schemas/Foo"))
+
+        second shouldBeSameInstanceAs first
+        verify(exactly = 1) { resolver.resolve(any()) }
+        caching.hits shouldBe 1
+        caching.misses shouldBe 1
+    }
+
+    "resolves a \$ref without key on each call" {
+        val caching = CachingRefResolver(resolver) { null }
+
+        caching.resolve(ref("foo.yaml#/Foo"))
+        caching.resolve(ref("foo.yaml#/Foo"))
+
+        verify(exactly = 2) { resolver.resolve(any()) }
+        caching.hits shouldBe 0
+        caching.misses shouldBe 2
+    }
+
+    "uses the key provided by the parser" {
+        val caching = CachingRefResolver(resolver) { "base.yaml ${it.getRef()}" }
+
+        val first = caching.resolve(ref("foo.yaml#/Foo"))
+        val second = caching.resolve(ref("foo.yaml#/Foo"))
+
+        second shouldBeSameInstanceAs first
+    }
+
+    "only absolute \$refs have a document independent key" {
+        absoluteRefKey(ref("https://openapiprocessor.io/foo.yaml#/Foo")) shouldBe "https://openapiprocessor.io/foo.yaml#/Foo"
+        absoluteRefKey(ref("#/components/schemas/Foo")).shouldBeNull()
+        absoluteRefKey(ref("foo.yaml#/Foo")).shouldBeNull()
+        absoluteRefKey(ref("#/components/schemas/Foo:Bar")).shouldBeNull()
+    }
+})
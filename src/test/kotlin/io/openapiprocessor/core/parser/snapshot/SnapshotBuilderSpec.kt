@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.maps.shouldBeEmpty
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.openapiprocessor.core.parser.CachingRefResolver
+import io.openapiprocessor.core.parser.NamedSchema
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+import io.openapiprocessor.core.parser.Path as ParserPath
+import io.openapiprocessor.core.parser.RefResolver as ParserRefResolver
+import io.openapiprocessor.core.parser.Operation as ParserOperation
+import io.openapiprocessor.core.parser.Parameter as ParserParameter
+import io.openapiprocessor.core.parser.Schema as ParserSchema
+import io.openapiprocessor.core.model.HttpMethod
+import io.openapiprocessor.core.support.parse
+
+class SnapshotBuilderSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val api = parse("""
+        openapi: 3.0.2
+        info:
+          title: lowering
+          version: 1.0.0
+
+        paths:
+          /foo:
+            get:
+              operationId: getFoo
+              tags: [foo, bar]
+              responses:
+                '200':
+                  description: the foo
+                  content:
+                    application/json:
+                      schema:
+                        ${'$'}ref: '#/components/schemas/Foo'
+
+        components:
+          schemas:
+            Foo:
+              type: object
+              properties:
+                name:
+                  type: string
+                children:
+                  type: array
+                  items:
+                    ${'$'}ref: '#/components/schemas/Foo'
+                either:
+                  oneOf:
+                    - type: string
+                    - type: integer
+    """.trimIndent())
+
+    "lowers the parsed model to the snapshot model" {
+        val lowered = SnapshotBuilder().build(api)
+
+        lowered.shouldNotBeNull()
+        val operation = lowered.getPaths()["/foo"]!!.getOperations().first()
+        operation.getMethod() shouldBe HttpMethod.GET
+        operation.getOperationId() shouldBe "getFoo"
+        operation.getTags() shouldContainExactly listOf("foo", "bar")
+
+        val ref = operation.getResponses()["200"]!!.getContent()["application/json"]!!.getSchema()
+        val foo = lowered.getRefResolver().resolve(ref)
+        foo.name shouldBe "Foo"
+
+        val properties = foo.schema.getProperties()
+        properties.keys shouldContainExactly listOf("name", "children", "either")
+        properties["either"]!!.itemsOf() shouldBe "oneOf"
+        properties["either"]!!.getItems().map { it.getType() } shouldContainExactly listOf("string", "integer")
+
+        // recursive $ref is resolved once
+        val child = properties["children"]!!.getItem()
+        lowered.getRefResolver().resolve(child).schema shouldBeSameInstanceAs foo.schema
+    }
+
+    "lowered schemas return the same properties & items on each access" {
+        val lowered = SnapshotBuilder().build(api)!!
+
+        val operation = lowered.getPaths()["/foo"]!!.getOperations().first()
+        val ref = operation.getResponses()["200"]!!.getContent()["application/json"]!!.getSchema()
+        val foo = lowered.getRefResolver().resolve(ref).schema
+
+        foo.getProperties() shouldBeSameInstanceAs foo.getProperties()
+
+        val either = foo.getProperties()["either"]!!
+        either.getItems() shouldBeSameInstanceAs either.getItems()
+    }
+
+    fun refSchema(ref: String): ParserSchema {
+        val schema = mockk<ParserSchema>(relaxed = true)
+        every { schema.getType() } returns null
+        every { schema.getRef() } returns ref
+        return schema
+    }
+
+    fun typeSchema(type: String): ParserSchema {
+        val schema = mockk<ParserSchema>(relaxed = true)
+        every { schema.getType() } returns type
+        every { schema.getRef() } returns null
+        return schema
+    }
+
+    fun refApi(resolver: ParserRefResolver, vararg schemas: ParserSchema): ParserOpenApi {
+        val parameters = schemas.mapIndexed { idx, schema ->
+            val parameter = mockk<ParserParameter>(relaxed = true)
+            every { parameter.getIn() } returns "query"
+            every { parameter.getName() } returns "p$idx"
+            every { parameter.getSchema() } returns schema
+            parameter
+        }
+
+        val operation = mockk<ParserOperation>(relaxed = true)
+        every { operation.getMethod() } returns HttpMethod.GET
+        every { operation.getParameters() } returns parameters
+
+        val path = mockk<ParserPath>()
+        every { path.getOperations() } returns listOf(operation)
+
+        val openapi = mockk<ParserOpenApi>(relaxed = true)
+        every { openapi.getPaths() } returns mapOf("/foo" to path)
+        every { openapi.getRefResolver() } returns resolver
+        return openapi
+    }
+
+    "does not lower a model with a \$ref without unique key" {
+        val resolver = CachingRefResolver(mockk()) { null }
+        val openapi = refApi(resolver, refSchema("schemas.yaml#/Foo"))
+
+        SnapshotBuilder().build(openapi).shouldBeNull()
+    }
+
+    "resolves equal relative \$refs by their unique key" {
+        val a = refSchema("common.yaml#/X")
+        val b = refSchema("common.yaml#/X")
+        val stringSchema = typeSchema("string")
+        val integerSchema = typeSchema("integer")
+
+        val native = mockk<ParserRefResolver>()
+        every { native.resolve(a) } returns NamedSchema("X", stringSchema)
+        every { native.resolve(b) } returns NamedSchema("X", integerSchema)
+
+        val keys = mapOf(a to "file:/a/common.yaml#/X", b to "file:/b/common.yaml#/X")
+        val resolver = CachingRefResolver(native) { keys[it] }
+
+        // when:
+        val lowered = SnapshotBuilder().build(refApi(resolver, a, b)).shouldNotBeNull()
+
+        // then:
+        val parameters = lowered.getPaths()["/foo"]!!.getOperations().first().getParameters()
+        val resolved = parameters.map { lowered.getRefResolver().resolve(it.getSchema()).schema.getType() }
+        resolved shouldContainExactly listOf("string", "integer")
+    }
+
+    "does not lower excluded operations" {
+        // a schema that can't be lowered
+        val schema = mockk<ParserSchema>(relaxed = true)
+        every { schema.getRef() } returns "schemas.yaml#/Foo"
+
+        val parameter = mockk<ParserParameter>(relaxed = true)
+        every { parameter.getSchema() } returns schema
+
+        val operation = mockk<ParserOperation>(relaxed = true)
+        every { operation.getParameters() } returns listOf(parameter)
+
+        val path = mockk<ParserPath>()
+        every { path.getOperations() } returns listOf(operation)
+
+        val openapi = mockk<ParserOpenApi>(relaxed = true)
+        every { openapi.getPaths() } returns mapOf("/foo" to path)
+
+        // when:
+        val builder = SnapshotBuilder()
+        val lowered = builder.build(openapi) { _, _ -> false }
+
+        // then:
+        lowered.shouldNotBeNull()
+        lowered.getPaths().shouldBeEmpty()
+        builder.included shouldBe 0
+        builder.excluded shouldBe 1
+        verify(exactly = 0) { operation.getParameters() }
+    }
+})
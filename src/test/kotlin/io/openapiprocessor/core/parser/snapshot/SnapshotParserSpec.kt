@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.parser.snapshot
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.spyk
+import io.mockk.verify
+import io.openapiprocessor.core.model.HttpMethod
+import io.openapiprocessor.core.parser.Parser
+import io.openapiprocessor.core.parser.ParserType
+import io.openapiprocessor.core.tempFolder
+import java.math.BigDecimal
+import java.nio.file.Files
+import io.openapiprocessor.core.parser.OpenApi as ParserOpenApi
+
+class SnapshotParserSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val folder = tempFolder()
+    val snapshots = folder.resolve("snapshots")
+
+    val api = folder.resolve("openapi.yaml")
+    Files.write(api, """
+        openapi: 3.0.2
+        info:
+          title: snapshot
+          version: 1.0.0
+
+        paths:
+          /foo:
+            get:
+              operationId: getFoo
+              tags:
+                - foo
+              parameters:
+                - name: bar
+                  in: query
+                  required: true
+                  schema:
+                    type: string
+                    enum: [a, b]
+                    default: a
+              responses:
+                '200':
+                  description: the foo
+                  content:
+                    application/json:
+                      schema:
+                        ${'$'}ref: '#/components/schemas/Foo'
+
+        components:
+          schemas:
+            Foo:
+              description: a foo
+              type: object
+              required:
+                - name
+              properties:
+                name:
+                  type: string
+                  maxLength: 10
+                value:
+                  type: number
+                  maximum: 9.5
+                  exclusiveMaximum: true
+                children:
+                  type: array
+                  items:
+                    ${'$'}ref: '#/components/schemas/Foo'
+    """.trimIndent().toByteArray())
+
+    val options = mapOf(
+        "apiPath" to api.toUri().toString(),
+        "parser" to ParserType.SWAGGER.name
+    )
+
+    fun readSnapshot(options: Map<String, *> = options): ParserOpenApi {
+        val parser = spyk(Parser())
+        val snapshot = SnapshotParser(snapshots, parser).parse(options)
+        verify(exactly = 0) { parser.parse(any()) }
+        return snapshot
+    }
+
+    // the same relative $ref resolves to a different schema in each folder
+    fun writeMultiFileApi(): Map<String, String> {
+        val multi = folder.resolve("multi.yaml")
+        Files.write(multi, """
+            openapi: 3.0.2
+            info:
+              title: snapshot
+              version: 1.0.0
+
+            paths:
+              /a:
+                get:
+                  responses:
+                    '200':
+                      description: the a
+                      content:
+                        application/json:
+                          schema:
+                            ${'$'}ref: 'a/schemas.yaml#/A'
+              /b:
+                get:
+                  responses:
+                    '200':
+                      description: the b
+                      content:
+                        application/json:
+                          schema:
+                            ${'$'}ref: 'b/schemas.yaml#/B'
+        """.trimIndent().toByteArray())
+
+        listOf("a" to "string", "b" to "integer").forEach { (name, type) ->
+            val dir = Files.createDirectories(folder.resolve(name))
+            Files.write(dir.resolve("schemas.yaml"), """
+                ${name.uppercase()}:
+                  type: object
+                  properties:
+                    x:
+                      ${'$'}ref: 'common.yaml#/X'
+            """.trimIndent().toByteArray())
+            Files.write(dir.resolve("common.yaml"), """
+                X:
+                  type: $type
+            """.trimIndent().toByteArray())
+        }
+
+        return mapOf("apiPath" to multi.toUri().toString())
+    }
+
+    "loads the snapshot instead of parsing the OpenAPI document again" {
+        SnapshotParser(snapshots).parse(options)
+
+        // when:
+        val snapshot = readSnapshot()
+
+        // then:
+        snapshot.shouldBeInstanceOf<OpenApi>()
+
+        val operation = snapshot.getPaths()["/foo"]!!.getOperations().first()
+        operation.getMethod() shouldBe HttpMethod.GET
+        operation.getOperationId() shouldBe "getFoo"
+        operation.getFirstTag() shouldBe "foo"
+
+        val parameter = operation.getParameters().first()
+        parameter.getName() shouldBe "bar"
+        parameter.getIn() shouldBe "query"
+        parameter.isRequired().shouldBeTrue()
+        parameter.getSchema().getEnum() shouldContainExactly listOf("a", "b")
+        parameter.getSchema().getDefault() shouldBe "a"
+
+        val response = operation.getResponses()["200"]!!
+        response.description shouldBe "the foo"
+
+        val ref = response.getContent()["application/json"]!!.getSchema()
+        ref.getRef() shouldBe "#/components/schemas/Foo"
+
+        val foo = snapshot.getRefResolver().resolve(ref)
+        foo.name shouldBe "Foo"
+        foo.schema.description shouldBe "a foo"
+        foo.schema.getRequired() shouldContainExactly listOf("name")
+
+        val properties = foo.schema.getProperties()
+        properties.keys shouldContainExactly listOf("name", "value", "children")
+        properties["name"]!!.getMaxLength() shouldBe 10
+        BigDecimal(properties["value"]!!.getMaximum().toString()) shouldBe BigDecimal("9.5")
+        properties["value"]!!.isExclusiveMaximum().shouldBeTrue()
+
+        // recursive $ref
+        val child = properties["children"]!!.getItem()
+        snapshot.getRefResolver().resolve(child).schema shouldBeSameInstanceAs foo.schema
+    }
+
+    "parses the OpenAPI document again if it has changed" {
+        SnapshotParser(snapshots).parse(options)
+
+        Files.write(api, Files.readAllBytes(api) + "\n".toByteArray())
+
+        // when:
+        val parser = spyk(Parser())
+        SnapshotParser(snapshots, parser).parse(options)
+
+        // then:
+        verify(exactly = 1) { parser.parse(any()) }
+        readSnapshot()
+    }
+
+    "parses the OpenAPI document if the snapshot is broken" {
+        SnapshotParser(snapshots).parse(options)
+        Files.list(snapshots).use { files ->
+            files.forEach { Files.write(it, "broken".toByteArray()) }
+        }
+
+        // when:
+        val parser = mockk<Parser>()
+        val openapi = mockk<ParserOpenApi>(relaxed = true)
+        every { parser.parse(any()) } returns openapi
+
+        // then:
+        SnapshotParser(snapshots, parser).parse(options) shouldBeSameInstanceAs openapi
+    }
+
+    "loads the snapshot of a multi file OpenAPI document with equal relative ${'$'}refs" {
+        val multi = writeMultiFileApi() + ("parser" to ParserType.OPENAPI4J.name)
+        SnapshotParser(snapshots).parse(multi)
+
+        // when:
+        val snapshot = readSnapshot(multi)
+
+        // then:
+        val resolver = snapshot.getRefResolver()
+        listOf("/a" to "string", "/b" to "integer").forEach { (path, type) ->
+            val operation = snapshot.getPaths()[path]!!.getOperations().first()
+            val ref = operation.getResponses()["200"]!!.getContent()["application/json"]!!.getSchema()
+
+            val x = resolver.resolve(ref).schema.getProperties()["x"]!!
+            x.getRef() shouldBe "common.yaml#/X"
+            resolver.resolve(x).schema.getType() shouldBe type
+        }
+    }
+
+    "does not write a snapshot if the parser has no unique key of a relative ${'$'}ref" {
+        val multi = writeMultiFileApi() + ("parser" to ParserType.INTERNAL.name)
+        SnapshotParser(snapshots).parse(multi)
+
+        // when:
+        val parser = spyk(Parser())
+        SnapshotParser(snapshots, parser).parse(multi)
+
+        // then:
+        verify(exactly = 1) { parser.parse(any()) }
+        Files.list(snapshots).use { it.count() } shouldBe 0
+    }
+
+})
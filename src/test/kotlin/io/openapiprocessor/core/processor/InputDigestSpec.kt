@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.processor
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.openapiprocessor.core.tempFolder
+import java.nio.file.Files
+
+class InputDigestSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val target = tempFolder()
+
+    val api = target.resolve("openapi.yaml")
+    val ref = target.resolve("schemas/foo.yaml")
+
+    beforeTest {
+        Files.createDirectories(ref.parent)
+        Files.write(api, """
+            |openapi: 3.0.3
+            |paths:
+            |  /foo:
+            |    get:
+            |      responses:
+            |        '200':
+            |          content:
+            |            application/json:
+            |              schema:
+            |                ${'$'}ref: 'schemas/foo.yaml#/Foo'
+            """.trimMargin().toByteArray())
+
+        Files.write(ref, """
+            |Foo:
+            |  type: string
+            """.trimMargin().toByteArray())
+    }
+
+    fun options(mapping: String = "openapi-processor-mapping: v2"): Map<String, Any> {
+        return mapOf("apiPath" to api.toString(), "mapping" to mapping)
+    }
+
+    fun copyTo(folder: java.nio.file.Path) {
+        Files.createDirectories(folder.resolve("schemas"))
+        Files.copy(api, folder.resolve("openapi.yaml"))
+        Files.copy(ref, folder.resolve("schemas/foo.yaml"))
+    }
+
+    "digest does not change if the inputs do not change" {
+        val digest = InputDigest("1").digest(options())
+
+        digest.shouldNotBeNull()
+        InputDigest("1").digest(options()) shouldBe digest
+    }
+
+    "digest changes if a referenced document changes" {
+        val digest = InputDigest("1").digest(options())
+
+        Files.write(ref, """
+            |Foo:
+            |  type: integer
+            """.trimMargin().toByteArray())
+
+        InputDigest("1").digest(options()) shouldNotBe digest
+    }
+
+    "digest changes if the mapping or the processor version changes" {
+        val digest = InputDigest("1").digest(options())
+
+        InputDigest("1").digest(options("openapi-processor-mapping: v2.1")) shouldNotBe digest
+        InputDigest("2").digest(options()) shouldNotBe digest
+    }
+
+    "has no digest if a referenced document is missing" {
+        Files.delete(ref)
+
+        InputDigest("1").digest(options()).shouldBeNull()
+    }
+
+    "digest does not change if the inputs move to another folder" {
+        val digest = InputDigest("1").digest(options())
+
+        val moved = target.resolve("moved")
+        copyTo(moved)
+
+        InputDigest("1").digest(mapOf(
+            "apiPath" to moved.resolve("openapi.yaml").toString(),
+            "mapping" to "openapi-processor-mapping: v2"
+        )) shouldBe digest
+    }
+
+    "digest changes if a processor option changes" {
+        val digest = InputDigest("1").digest(options())
+
+        InputDigest("1").digest(options() + ("targetDir" to "other")) shouldBe digest
+        InputDigest("1").digest(options() + ("showWarnings" to true)) shouldNotBe digest
+    }
+})
@@ -4,6 +4,7 @@
  */
 package io.openapiprocessor.core.processor.mapping.v2
 
+import com.fasterxml.jackson.databind.JsonNode
 import io.kotest.core.spec.IsolationMode
 import io.kotest.core.spec.style.StringSpec
 import io.kotest.matchers.shouldBe
@@ -23,7 +24,7 @@ class MappingReaderSpec: StringSpec ({
         """.trimMargin()
 
         val validator = mockk<MappingValidator>()
-        every { validator.validate(any(), any()) } returns emptySet()
+        every { validator.validate(any<JsonNode>(), any()) } returns emptySet()
 
         val log = mockk<Logger>(relaxed = true)
 
@@ -46,11 +47,15 @@ class MappingReaderSpec: StringSpec ({
         """.trimMargin()
 
         val validator = mockk<MappingValidator>()
-        every { validator.validate(any(), any()) } returns emptySet()
+        every { validator.validate(any<JsonNode>(), any()) } returns emptySet()
 
         MappingReader(validator).read(yaml)
 
-        verify { validator.validate(yaml, "v2") }
+        verify {
+            validator.validate(match<JsonNode> {
+                it["options"]["package-name"].asText() == "io.openapiprocessor.somewhere"
+            }, "v2")
+        }
     }
 
 //    "validates mapping.yaml with version" {
@@ -133,4 +138,20 @@ class MappingReaderSpec: StringSpec ({
         // then:
         mapping.options.generatedDate shouldBe false
     }
+
+    "reads parallelism" {
+        val yaml = """
+            |openapi-processor-mapping: v2.1
+            |options:
+            |  parallelism: 4
+        """.trimMargin()
+
+        val reader = MappingReader()
+
+        // when:
+        val mapping = reader.read (yaml) as Mapping
+
+        // then:
+        mapping.options.parallelism shouldBe 4
+    }
 })
@@ -86,4 +86,26 @@ class MappingValidatorSpec: StringSpec({
     "validates example mapping v2.1" {
         validator.validate("/mapping/v2.1/mapping.example.yaml".fromResource(), "v2.1").shouldBeEmpty()
     }
+
+    "validates with the shared schema of a version" {
+        val valid = """
+                   |openapi-processor-mapping: v2.1
+                   |
+                   |options: {}
+                   """.trimMargin()
+
+        val invalid = """
+                   |openapi-processor-mapping: v2.1
+                   |
+                   |bad:
+                   """.trimMargin()
+
+        // when:
+        val first = MappingValidator().validate (valid, "v2.1")
+        val second = MappingValidator().validate (invalid, "v2.1")
+
+        // then:
+        first.shouldBeEmpty()
+        second.size shouldBe 1
+    }
 })
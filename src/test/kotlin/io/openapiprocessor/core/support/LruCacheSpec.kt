@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.support
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+
+class LruCacheSpec: StringSpec({
+
+    "creates a value only once" {
+        val cache = LruCache<String, String>(2)
+        var created = 0
+
+        cache.get("foo") { created++; it.uppercase() } shouldBe "FOO"
+        cache.get("foo") { created++; it.uppercase() } shouldBe "FOO"
+
+        created shouldBe 1
+    }
+
+    "drops the least recently used value" {
+        val cache = LruCache<String, String>(2)
+        var created = 0
+
+        cache.get("foo") { created++; it }
+        cache.get("bar") { created++; it }
+        cache.get("foo") { created++; it }
+        cache.get("baz") { created++; it }
+
+        cache.size shouldBe 2
+        created shouldBe 3
+
+        cache.get("foo") { created++; it }
+        created shouldBe 3
+
+        cache.get("bar") { created++; it }
+        created shouldBe 4
+    }
+})
@@ -6,11 +6,13 @@
 package io.openapiprocessor.core.writer.java
 
 import io.kotest.assertions.throwables.shouldNotThrowAny
+import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.core.spec.IsolationMode
 import io.kotest.core.spec.style.StringSpec
 import io.kotest.data.blocking.forAll
 import io.kotest.data.row
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.string.shouldContain
 import io.mockk.every
 import io.mockk.verify
 import io.openapiprocessor.core.builder.api.`interface`
@@ -27,6 +29,7 @@ import java.io.File
 import java.io.Writer
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.attribute.FileTime
 import io.mockk.mockk as stub
 
 class ApiWriterSpec: StringSpec({
@@ -41,6 +44,17 @@ class ApiWriterSpec: StringSpec({
         options.targetDir = listOf(target.toString(), "java", "src").joinToString(File.separator)
     }
 
+    /**
+     * interface writer stub that writes the source created by [render].
+     */
+    fun interfaceWriter(render: (Interface) -> String): InterfaceWriter {
+        val writer = stub<InterfaceWriter>()
+        every { writer.write(any(), any()) } answers {
+            arg<Writer>(0).write(render(arg(1)))
+        }
+        return writer
+    }
+
     fun textOf(name: String): String {
         return options.getModelPath(name).text
     }
@@ -142,10 +156,7 @@ class ApiWriterSpec: StringSpec({
     }
 
     "generates interface sources in api target folder" {
-        val itfWriter = io.mockk.mockk<InterfaceWriter>()
-        every { itfWriter.write(any(), any()) } answers {
-            arg<Writer>(0).write("${arg<Interface>(1).name} interface!")
-        }
+        val itfWriter = interfaceWriter { "${it.name} interface!" }
 
         val api = Api(listOf(
             `interface`("Foo", options.getSourceDir("api").toString()) {},
@@ -162,10 +173,7 @@ class ApiWriterSpec: StringSpec({
     }
 
     "generates interface with valid java class name" {
-        val itfWriter = io.mockk.mockk<InterfaceWriter>()
-        every { itfWriter.write(any(), any()) } answers {
-            arg<Writer>(0).write("${arg<Interface>(1).name} interface!")
-        }
+        val itfWriter = interfaceWriter { "${it.name} interface!" }
 
         val api = Api(listOf(
             `interface`("foo-bar", options.getSourceDir("api").toString()) {}
@@ -218,10 +226,7 @@ class ApiWriterSpec: StringSpec({
     }
 
     "re-formats interface sources" {
-        val itfWriter = io.mockk.mockk<InterfaceWriter>()
-        every { itfWriter.write(any(), any()) } answers {
-            arg<Writer>(0).write("  interface  \n ${arg<Interface>(1).name}    {    }\n")
-        }
+        val itfWriter = interfaceWriter { "  interface  \n ${it.name}    {    }\n" }
 
         // when:
         ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write (Api(listOf(
@@ -259,10 +264,7 @@ class ApiWriterSpec: StringSpec({
     }
 
     "does not re-format sources if code formatting is disabled" {
-        val itfWriter = io.mockk.mockk<InterfaceWriter>()
-        every { itfWriter.write(any(), any()) } answers {
-            arg<Writer>(0).write("  interface  \n ${arg<Interface>(1).name}    {    }\n")
-        }
+        val itfWriter = interfaceWriter { "  interface  \n ${it.name}    {    }\n" }
 
         // when:
         options.formatCode = false
@@ -277,6 +279,223 @@ class ApiWriterSpec: StringSpec({
         |
         """.trimMargin()
     }
+
+    "writes the same sources in parallel" {
+        val itfWriter = interfaceWriter { "  interface  \n ${it.name}    {    }\n" }
+
+        val dtWriter = io.mockk.mockk<DataTypeWriter>()
+        every { dtWriter.write(any(), any()) } answers {
+            arg<Writer>(0).write("  class \n  ${arg<ModelDataType>(1).getName()} {   }\n")
+        }
+
+        val names = (1..20).map { "Foo$it" }
+        val dt = DataTypes()
+        names.forEach {
+            dt.add(ObjectDataType(it, "${options.packageName}.model"))
+            dt.addRef(it)
+        }
+        val api = Api(names.map { `interface`(it, options.getSourceDir("api").toString()) {} }, dt)
+
+        // when:
+        options.parallelism = 4
+        ApiWriter(options, gwStub, itfWriter, dtWriter, stub(), stub()).write (api)
+
+        // then:
+        names.forEach {
+            textOfApi("${it}Api.java") shouldBe """
+            |interface $it {
+            |}
+            |
+            """.trimMargin()
+
+            textOf("$it.java") shouldBe """
+            |class $it {
+            |}
+            |
+            """.trimMargin()
+        }
+    }
+
+    "re-throws formatting failure of parallel write" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {" }
+
+        val api = Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {},
+            `interface`("Bar", options.getSourceDir("api").toString()) {}
+        ))
+
+        // when:
+        options.parallelism = 2
+        shouldThrow<FormattingException> {
+            ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+        }
+    }
+
+    "incremental write does not re-write unchanged sources" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        val api = Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        ))
+
+        options.formatCode = false
+        options.incremental = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        val foo = options.getApiPath("FooApi.java")
+        val modified = FileTime.fromMillis(0)
+        Files.setLastModifiedTime(foo, modified)
+
+        // when:
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        // then:
+        Files.getLastModifiedTime(foo) shouldBe modified
+        textOfApi("FooApi.java") shouldBe "interface Foo {}\n"
+    }
+
+    "incremental write restores an edited source" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        val api = Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        ))
+
+        options.formatCode = false
+        options.incremental = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        Files.write(options.getApiPath("FooApi.java"), "edited".toByteArray())
+
+        // when:
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        // then:
+        textOfApi("FooApi.java") shouldBe "interface Foo {}\n"
+    }
+
+    "incremental write deletes obsolete sources of previous run" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        options.formatCode = false
+        options.incremental = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {},
+            `interface`("Bar", options.getSourceDir("api").toString()) {}
+        )))
+
+        // when:
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        )))
+
+        // then:
+        Files.exists(options.getApiPath("FooApi.java")) shouldBe true
+        Files.exists(options.getApiPath("BarApi.java")) shouldBe false
+    }
+
+    "incremental write does not delete files outside of the target folder" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        val targetDir = Path.of(options.targetDir!!)
+        val outside = targetDir.resolveSibling("outside.java")
+        Files.createDirectories(targetDir)
+        Files.write(outside, "outside".toByteArray())
+        Manifest("inputs", mapOf(
+            "../outside.java" to "hash",
+            outside.toAbsolutePath().toString() to "hash"
+        )).write(targetDir)
+
+        // when:
+        options.formatCode = false
+        options.incremental = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        )))
+
+        // then:
+        Files.exists(outside) shouldBe true
+        Files.exists(options.getApiPath("FooApi.java")) shouldBe true
+    }
+
+    "write-if-changed does not touch unchanged sources" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        val api = Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        ))
+
+        options.formatCode = false
+        options.writeIfChanged = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        val foo = options.getApiPath("FooApi.java")
+        val modified = FileTime.fromMillis(0)
+        Files.setLastModifiedTime(foo, modified)
+
+        // when:
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        // then:
+        Files.getLastModifiedTime(foo) shouldBe modified
+    }
+
+    "write-if-changed writes changed sources" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        val api = Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        ))
+
+        Files.createDirectories(options.getSourceDir("api"))
+        Files.write(options.getApiPath("FooApi.java"), "interface Bar {}\n".toByteArray())
+
+        // when:
+        options.formatCode = false
+        options.writeIfChanged = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        // then:
+        textOfApi("FooApi.java") shouldBe "interface Foo {}\n"
+    }
+
+    "uses formatted source of the format cache" {
+        val itfWriter = interfaceWriter { "  interface  \n ${it.name}    {    }\n" }
+
+        val cache = tempFolder()
+        FormatCache(cache, 1024).put("  interface  \n Foo    {    }\n", "interface Cached {}\n")
+
+        // when:
+        options.formatCache = cache.toString()
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write (Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        )))
+
+        // then:
+        textOfApi("FooApi.java") shouldBe """
+        |interface Cached {
+        |}
+        |
+        """.trimMargin()
+    }
+
+    "writes metrics of each generated file" {
+        val itfWriter = interfaceWriter { "interface ${it.name} {}\n" }
+
+        val api = Api(listOf(
+            `interface`("Foo", options.getSourceDir("api").toString()) {}
+        ))
+
+        // when:
+        options.metricsFile = true
+        ApiWriter(options, gwStub, itfWriter, stub(), stub(), stub()).write(api)
+
+        // then:
+        val metrics = Path.of(options.targetDir!!, ".openapi-processor", "metrics.json")
+        val json = Files.readString(metrics)
+        json shouldContain "\"phase\" : \"write\""
+        json shouldContain "\"file\" : \"io/openapiprocessor/generated/api/FooApi.java\""
+    }
 })
 
 
@@ -9,6 +9,8 @@ import io.kotest.core.spec.IsolationMode
 import io.kotest.core.spec.style.StringSpec
 import io.kotest.matchers.collections.shouldBeEmpty
 import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.kotest.matchers.types.shouldNotBeSameInstanceAs
 import io.openapiprocessor.core.model.datatypes.*
 import io.openapiprocessor.core.support.datatypes.ListDataType
 import io.openapiprocessor.core.support.datatypes.ObjectDataType
@@ -231,4 +233,16 @@ class BeanValidationFactorySpec : StringSpec({
         io.imports shouldBe setOf(BeanValidation.EMAIL.typeName)
         io.annotations.shouldBeEmpty()
     }
+
+    "reuses the validation info of a data type & required flag" {
+        val validation = BeanValidationFactory()
+
+        val dataType = ArrayDataType(StringDataType())
+        val info = validation.validate(dataType, true)
+
+        validation.validate(dataType, true) shouldBeSameInstanceAs info
+        validation.validate(dataType, false) shouldNotBeSameInstanceAs info
+        validation.validate(ArrayDataType(StringDataType()), true) shouldNotBeSameInstanceAs info
+    }
+
 })
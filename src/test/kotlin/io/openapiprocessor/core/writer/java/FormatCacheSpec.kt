@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import io.openapiprocessor.core.tempFolder
+import java.nio.file.Files
+import java.nio.file.attribute.FileTime
+
+class FormatCacheSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val folder = tempFolder()
+
+    "returns cached formatted source" {
+        val cache = FormatCache(folder, 1024)
+
+        // when:
+        cache.put("class  Foo {}", "class Foo {}\n")
+
+        // then:
+        cache.get("class  Foo {}") shouldBe "class Foo {}\n"
+        FormatCache(folder, 1024).get("class  Foo {}") shouldBe "class Foo {}\n"
+    }
+
+    "returns null if the source is not cached" {
+        val cache = FormatCache(folder, 1024)
+        cache.put("class  Foo {}", "class Foo {}\n")
+
+        cache.get("class  Bar {}").shouldBeNull()
+    }
+
+    "does not return formatted source of another formatter" {
+        FormatCache(folder, 1024, "formatter:1").put("class  Foo {}", "class Foo {}\n")
+
+        FormatCache(folder, 1024, "formatter:2").get("class  Foo {}").shouldBeNull()
+    }
+
+    "evicts least recently used entries if the cache is too large" {
+        val cache = FormatCache(folder, 20)
+        cache.put("class  Foo {}", "class Foo {}\n")
+        cache.put("class  Bar {}", "class Bar {}\n")
+        cache.put("class  Baz {}", "class Baz {}\n")
+
+        // make Foo the oldest entry & Bar the most recently used entry
+        Files.list(folder).use { entries ->
+            entries.forEach { Files.setLastModifiedTime(it, FileTime.fromMillis(1000)) }
+        }
+        cache.get("class  Bar {}")
+
+        val foo = Files.list(folder).use { entries ->
+            entries.filter { Files.readAllBytes(it).decodeToString() == "class Foo {}\n" }.findFirst().get()
+        }
+        Files.setLastModifiedTime(foo, FileTime.fromMillis(0))
+
+        // when:
+        cache.evict()
+
+        // then:
+        cache.get("class  Foo {}").shouldBeNull()
+        cache.get("class  Baz {}").shouldBeNull()
+        cache.get("class  Bar {}") shouldBe "class Bar {}\n"
+    }
+
+})
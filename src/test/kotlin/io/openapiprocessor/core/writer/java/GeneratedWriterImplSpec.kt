@@ -0,0 +1,34 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import io.openapiprocessor.core.converter.ApiOptions
+import java.io.StringWriter
+
+class GeneratedWriterImplSpec: StringSpec({
+
+    val info = GeneratedInfo("openapi-processor-test", "1", "2022-01-01T00:00:00Z")
+
+    "writes @Generated with date" {
+        val target = StringWriter()
+        GeneratedWriterImpl(info, ApiOptions()).writeUse(target)
+
+        target.toString() shouldBe
+            """@Generated(value = "openapi-processor-test", version = "1", date = "2022-01-01T00:00:00Z")"""
+    }
+
+    "writes @Generated without date if the output is reproducible" {
+        val options = ApiOptions()
+        options.reproducible = true
+
+        val target = StringWriter()
+        GeneratedWriterImpl(info, options).writeUse(target)
+
+        target.toString() shouldBe """@Generated(value = "openapi-processor-test", version = "1")"""
+    }
+})
@@ -9,6 +9,7 @@ import io.kotest.core.spec.style.StringSpec
 import io.kotest.datatest.withData
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.string.shouldBeEmpty
+import io.kotest.matchers.types.shouldBeSameInstanceAs
 import io.mockk.every
 import io.mockk.mockk
 import io.openapiprocessor.core.builder.api.endpoint
@@ -262,4 +263,43 @@ class JavaDocWriterSpec: StringSpec({
             |
             """.trimMargin()
     }
+
+    "writers share the markdown parser & renderer" {
+        val other = JavaDocWriter()
+
+        other.parser shouldBeSameInstanceAs writer.parser
+        other.renderer shouldBeSameInstanceAs writer.renderer
+    }
+
+    "converts a repeated description with different intros" {
+        val endpoint = endpoint("/foo") {
+            description("any")
+            parameters {
+                any(object : ParameterBase("foo", StringDataType(),
+                    true, false, "*same*") {})
+                any(object : ParameterBase("bar", StringDataType(),
+                    true, false, "*same*") {})
+            }
+            responses {
+                status("200") {
+                    response {
+                        description("*same*")
+                    }
+                }
+            }
+        }
+
+        val html = writer.convert(endpoint, endpoint.endpointResponses.first())
+
+        html shouldBe """
+            |    /**
+            |     * any
+            |     *
+            |     * @param foo <em>same</em>
+            |     * @param bar <em>same</em>
+            |     * @return <em>same</em>
+            |     */
+            |
+            """.trimMargin()
+    }
 })
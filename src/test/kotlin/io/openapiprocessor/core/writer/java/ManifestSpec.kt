@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import io.kotest.core.spec.IsolationMode
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.booleans.shouldBeFalse
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.maps.shouldBeEmpty
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import io.openapiprocessor.core.support.sha256
+import io.openapiprocessor.core.tempFolder
+import java.nio.file.Files
+
+class ManifestSpec: StringSpec({
+    isolationMode = IsolationMode.InstancePerTest
+
+    val target = tempFolder()
+
+    "reads empty manifest if there is no manifest" {
+        val manifest = Manifest.read(target)
+
+        manifest.inputs.shouldBeNull()
+        manifest.files.shouldBeEmpty()
+    }
+
+    "reads written manifest" {
+        Manifest("inputs-digest", mapOf("api/Foo.java" to "foo-hash", "model/Bar.java" to "bar-hash"))
+            .write(target)
+
+        val manifest = Manifest.read(target)
+
+        manifest.inputs shouldBe "inputs-digest"
+        manifest.files shouldBe mapOf("api/Foo.java" to "foo-hash", "model/Bar.java" to "bar-hash")
+    }
+
+    "is up-to-date if inputs and files did not change" {
+        Files.createDirectories(target.resolve("api"))
+        Files.write(target.resolve("api/Foo.java"), "Foo".toByteArray())
+
+        val manifest = Manifest("inputs", mapOf("api/Foo.java" to sha256("Foo".toByteArray())))
+
+        manifest.isUpToDate(target, "inputs").shouldBeTrue()
+        manifest.isUpToDate(target, "changed").shouldBeFalse()
+        manifest.isUpToDate(target, null).shouldBeFalse()
+    }
+
+    "is not up-to-date if a generated file changed or is missing" {
+        Files.createDirectories(target.resolve("api"))
+        Files.write(target.resolve("api/Foo.java"), "Foo changed".toByteArray())
+
+        val manifest = Manifest("inputs", mapOf("api/Foo.java" to sha256("Foo".toByteArray())))
+        manifest.isUpToDate(target, "inputs").shouldBeFalse()
+
+        val missing = Manifest("inputs", mapOf("api/Bar.java" to sha256("Bar".toByteArray())))
+        missing.isUpToDate(target, "inputs").shouldBeFalse()
+    }
+})
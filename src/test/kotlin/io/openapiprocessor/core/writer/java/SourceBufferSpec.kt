@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 https://github.com/openapi-processor/openapi-processor-core
+ * PDX-License-Identifier: Apache-2.0
+ */
+
+package io.openapiprocessor.core.writer.java
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+class SourceBufferSpec: StringSpec({
+
+    fun ByteBuffer.text(): String {
+        return StandardCharsets.UTF_8.decode(this).toString()
+    }
+
+    "encodes the rendered source with the given charset" {
+        val buffer = SourceBuffer(StandardCharsets.UTF_8)
+
+        buffer.write("class Foo {\n")
+        buffer.write("  // äöü €\n")
+        buffer.append('}')
+
+        buffer.encode().text() shouldBe "class Foo {\n  // äöü €\n}"
+    }
+
+    "re-uses the buffer after reset" {
+        val buffer = SourceBuffer(StandardCharsets.UTF_8, 4)
+
+        buffer.write("a larger source than the initial capacity")
+        buffer.encode()
+
+        // when:
+        buffer.reset()
+        buffer.write("short")
+
+        // then:
+        buffer.encode().text() shouldBe "short"
+        buffer.toString() shouldBe "short"
+    }
+
+    "appends a part of a char sequence" {
+        val buffer = SourceBuffer(StandardCharsets.UTF_8)
+
+        buffer.append("class Foo {}", 0, 11)
+
+        buffer.toString() shouldBe "class Foo {"
+    }
+
+})
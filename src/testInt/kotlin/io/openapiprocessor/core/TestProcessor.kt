@@ -10,10 +10,15 @@ import io.openapiprocessor.core.converter.ApiConverter
 import io.openapiprocessor.core.converter.ApiOptions
 import io.openapiprocessor.core.converter.OptionsConverter
 import io.openapiprocessor.core.framework.FrameworkBase
+import io.openapiprocessor.core.metrics.MetricsCollector
 import io.openapiprocessor.core.parser.Parser
+import io.openapiprocessor.core.parser.snapshot.SnapshotParser
+import io.openapiprocessor.core.processor.InputDigest
+import io.openapiprocessor.core.support.toURI
 import io.openapiprocessor.core.writer.java.*
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.nio.file.Paths
 import java.time.OffsetDateTime
 
 /**
@@ -28,13 +33,25 @@ class TestProcessor: OpenApiProcessor {
 
     override fun run(processorOptions: MutableMap<String, *>) {
         try {
+            val options = convertOptions(processorOptions)
+            if (isUpToDate(processorOptions, options)) {
+                log.info("generated sources are up-to-date")
+                return
+            }
+
             val parser = Parser ()
-            val openapi = parser.parse(processorOptions)
+            val openapi = options.metricsCollector.measure(MetricsCollector.PARSE) {
+                val snapshot = options.parserSnapshot
+                if (snapshot != null) {
+                    SnapshotParser(Paths.get(toURI(snapshot)), parser).parse(processorOptions)
+                } else {
+                    parser.parse(processorOptions)
+                }
+            }
             if (processorOptions.containsKey("showWarnings")) {
                 openapi.printWarnings()
             }
 
-            val options = convertOptions(processorOptions)
             val cv = ApiConverter(options, FrameworkBase())
             val api = cv.convert(openapi)
 
@@ -87,6 +104,16 @@ class TestProcessor: OpenApiProcessor {
     }
 }
 
+private fun isUpToDate(processorOptions: MutableMap<String, *>, options: ApiOptions): Boolean {
+    if (!options.incremental)
+        return false
+
+    options.inputDigest = InputDigest("test").digest(processorOptions)
+
+    val targetDir = Manifest.getTargetDir(options.targetDir!!)
+    return Manifest.read(targetDir).isUpToDate(targetDir, options.inputDigest)
+}
+
 private fun convertOptions(processorOptions: MutableMap<String, *>): ApiOptions {
     val target = mutableMapOf<String, Any>()
     processorOptions.forEach {(key, value) ->